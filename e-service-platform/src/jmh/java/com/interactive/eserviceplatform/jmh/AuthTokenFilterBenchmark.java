@@ -0,0 +1,72 @@
+package com.interactive.eserviceplatform.jmh;
+
+import com.interactive.eserviceplatform.security.jwt.AuthTokenFilter;
+import com.interactive.eserviceplatform.security.jwt.JwtUtils;
+import com.interactive.eserviceplatform.security.jwt.TokenVersionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du filtre JWT par requête (mode claims-only, sans base), chaîne de filtres simulée.
+ * token = valid (cas nominal), missing (endpoint public), invalid (signature fausse).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthTokenFilterBenchmark {
+
+    @Param({"valid", "missing", "invalid"})
+    public String token;
+
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        JwtUtils jwtUtils = Fixtures.jwtUtils();
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "tokenVersionRegistry", new TokenVersionRegistry(null));
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "claimsOnly", true);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/requests/user/42");
+        String jwt = jwtUtils.generateJwtToken(Fixtures.authentication());
+        if ("valid".equals(token)) {
+            request.addHeader("Authorization", "Bearer " + jwt);
+        } else if ("invalid".equals(token)) {
+            request.addHeader("Authorization", "Bearer " + jwt.substring(0, jwt.length() - 4) + "AAAA");
+        }
+        response = new MockHttpServletResponse();
+        this.blackhole = blackhole;
+        chain = (req, res) -> this.blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Benchmark
+    public void doFilter() throws Exception {
+        try {
+            filter.doFilter(request, response, chain);
+        } finally {
+            // Comme FilterChainProxy en fin de requête
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
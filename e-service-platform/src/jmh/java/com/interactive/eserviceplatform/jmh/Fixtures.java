@@ -0,0 +1,95 @@
+package com.interactive.eserviceplatform.jmh;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.model.Role;
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import com.interactive.eserviceplatform.security.jwt.JwtUtils;
+import com.interactive.eserviceplatform.security.jwt.TokenRejectionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Objets communs aux benchmarks, construits sans contexte Spring (mêmes valeurs que application.properties)
+final class Fixtures {
+
+    static final String JWT_SECRET = "my_jwt_secret_key_for_local_development_only_change_me_in_production_0123456789";
+
+    private Fixtures() {
+    }
+
+    static JwtUtils jwtUtils() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new JwtUtils(JWT_SECRET, 86_400_000, 10_000, Duration.ofMinutes(5), meterRegistry,
+                new TokenRejectionLog(meterRegistry));
+    }
+
+    static User user() {
+        User user = new User("benchmark-user", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8e0X0p0Lb3R0lYk7v9Zyq4W");
+        user.setId(42L);
+        Role userRole = new Role("ROLE_USER");
+        Role adminRole = new Role("ROLE_ADMIN");
+        user.setRoles(Set.of(userRole, adminRole));
+        user.setTokenVersion(3);
+        return user;
+    }
+
+    static Authentication authentication() {
+        UserDetailsImpl principal = UserDetailsImpl.build(user());
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    static List<Request> requests(int count) {
+        List<Request> requests = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 30);
+        for (int i = 0; i < count; i++) {
+            Request request = new Request();
+            request.setId((long) i + 1);
+            request.setVersion(0L);
+            request.setUserId(42L);
+            request.setTitle("Demande de document " + i);
+            request.setDescription("Demande générée pour le benchmark de sérialisation numéro " + i);
+            request.setDocumentType(i % 2 == 0 ? DocumentType.CNI : DocumentType.PASSEPORT);
+            request.setBirthDate(LocalDate.of(1990, 1 + i % 12, 1 + i % 28));
+            request.setBirthPlace("Paris");
+            request.setStatus(RequestStatus.values()[i % RequestStatus.values().length]);
+            request.setCreatedAt(now.minusMinutes(i));
+            request.setDeadline(now.plusDays(30));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    // Transactions sans ressource : seules les synchronisations (afterCommit, afterCompletion) sont exécutées
+    static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.interactive.eserviceplatform.jmh;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import com.interactive.eserviceplatform.service.RequestSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Recherche plein texte (RequestSearchIndex) sur un index de plusieurs millions de demandes générées :
+ * mot présent partout (pire cas : toutes les postings parcourues), mot courant, mots rares, avec et sans filtre.
+ * Page de 20 résultats, comme l'endpoint par défaut.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestSearchIndexBenchmark {
+
+    private static final String[] CITIES = {"Paris", "Lyon", "Marseille", "Saint-Étienne", "Besançon", "Orléans",
+            "Nîmes", "Créteil", "Évry", "Angoulême", "Béziers", "Fréjus"};
+    private static final String[] TITLES = {"Passeport", "Carte d'identité", "Permis de conduire", "Renouvellement",
+            "Duplicata", "Changement d'adresse"};
+
+    @Param({"2000000"})
+    public int documents;
+
+    private RequestSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        RequestRepository repository = (RequestRepository) Proxy.newProxyInstance(RequestRepository.class.getClassLoader(),
+                new Class<?>[] {RequestRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "streamSearchFields" -> Stream.empty();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        searchIndex = new RequestSearchIndex(repository, new Fixtures.NoOpTransactionManager(),
+                new SimpleMeterRegistry(), 5);
+        searchIndex.rebuild();
+
+        // Vocabulaire synthétique de 20 000 mots : quelques mots très fréquents, une longue traîne de mots rares
+        Random random = new Random(42);
+        List<Request> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < documents; i++) {
+            Request request = new Request();
+            request.setId((long) i + 1);
+            request.setTitle(TITLES[i % TITLES.length] + " " + word(random.nextInt(20_000)));
+            StringBuilder description = new StringBuilder("demande");
+            for (int w = 0; w < 8; w++) {
+                description.append(' ').append(word((int) Math.abs(random.nextGaussian() * 2_000) % 20_000));
+            }
+            request.setDescription(description.toString());
+            request.setBirthPlace(CITIES[random.nextInt(CITIES.length)]);
+            request.setStatus(RequestStatus.values()[i % RequestStatus.values().length]);
+            request.setDocumentType(DocumentType.values()[i % DocumentType.values().length]);
+            batch.add(request);
+            if (batch.size() == 10_000) {
+                searchIndex.indexCreated(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        searchIndex.indexCreated(batch);
+    }
+
+    // Présent dans toutes les demandes
+    @Benchmark
+    public List<RequestSearchIndex.Hit> everywhere() {
+        return searchIndex.search(List.of("demande"), null, null, null, 21);
+    }
+
+    // Un mot courant et une ville : parcours du plus court des deux, recherche dichotomique dans l'autre
+    @Benchmark
+    public List<RequestSearchIndex.Hit> frequentWordAndCity() {
+        return searchIndex.search(RequestSearchIndex.tokenize("passeport Saint-Etienne"), RequestStatus.SUBMITTED,
+                null, null, 21);
+    }
+
+    @Benchmark
+    public List<RequestSearchIndex.Hit> rareWord() {
+        return searchIndex.search(List.of(word(17_321)), null, null, null, 21);
+    }
+
+    private static String word(int n) {
+        return "mot" + Integer.toString(n, 36);
+    }
+}
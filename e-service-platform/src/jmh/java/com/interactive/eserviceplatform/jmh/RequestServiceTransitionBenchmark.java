@@ -0,0 +1,173 @@
+package com.interactive.eserviceplatform.jmh;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.BulkTransitionResponse;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import com.interactive.eserviceplatform.repository.RequestStatusHistoryRepository;
+import com.interactive.eserviceplatform.service.RequestEventHub;
+import com.interactive.eserviceplatform.service.RequestSearchIndex;
+import com.interactive.eserviceplatform.service.RequestService;
+import com.interactive.eserviceplatform.service.RequestStatsRegistry;
+import com.interactive.eserviceplatform.service.StatusHistoryWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Logique de transition de RequestService (décision, éviction du cache, compteurs, événements, historique
+ * et index de recherche après commit) contre un dépôt en mémoire : mesure le coût propre du service, hors base de données.
+ * Chaque opération remet ensuite les demandes en DRAFT (simple écriture dans une map).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestServiceTransitionBenchmark {
+
+    @Param({"500"})
+    public int bulkSize;
+
+    private final Map<Long, Request> rows = new HashMap<>();
+    private RequestService requestService;
+    private StatusHistoryWriter historyWriter;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> bulkIds;
+
+    @Setup
+    public void setUp() {
+        for (Request request : Fixtures.requests(bulkSize)) {
+            request.setStatus(RequestStatus.DRAFT);
+            rows.put(request.getId(), request);
+        }
+        bulkIds = new ArrayList<>(rows.keySet());
+
+        RequestRepository repository = inMemoryRepository();
+        Fixtures.NoOpTransactionManager transactionManager = new Fixtures.NoOpTransactionManager();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestEventHub eventHub = new RequestEventHub(meterRegistry, Runnable::run, Duration.ofMinutes(30), 64);
+        RequestStatusHistoryRepository historyRepository = discardingHistoryRepository();
+        historyWriter = new StatusHistoryWriter(historyRepository, transactionManager, meterRegistry,
+                100_000, 500, 200, Duration.ofSeconds(1), Duration.ofSeconds(30));
+        historyWriter.start();
+        RequestSearchIndex searchIndex = new RequestSearchIndex(repository, transactionManager, meterRegistry, 5);
+        searchIndex.rebuild();
+        searchIndex.indexCreated(rows.values());
+        requestService = new RequestService(repository, new RequestStatsRegistry(repository), eventHub, searchIndex,
+                historyWriter, historyRepository, transactionManager, meterRegistry,
+                100, 10_000, 500, 10_000, 10_000, Duration.ofMinutes(10));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        historyWriter.stop();
+    }
+
+    // Équivalent de PUT /{id}/submit (@Transactional) : UPDATE conditionnel + relecture
+    @Benchmark
+    public Request submit() {
+        Request submitted = transactionTemplate.execute(tx -> requestService.submitRequest(1L));
+        rows.get(1L).setStatus(RequestStatus.DRAFT);
+        return submitted;
+    }
+
+    // Équivalent de PUT /transitions : verrouillage, décision par id, un UPDATE pour la tranche
+    @Benchmark
+    public BulkTransitionResponse bulkSubmit() {
+        BulkTransitionResponse response = requestService.bulkTransition(bulkIds, RequestStatus.SUBMITTED);
+        for (Request request : rows.values()) {
+            request.setStatus(RequestStatus.DRAFT);
+        }
+        return response;
+    }
+
+    // Seules les méthodes appelées par les transitions sont implémentées
+    @SuppressWarnings("unchecked")
+    private RequestRepository inMemoryRepository() {
+        return (RequestRepository) Proxy.newProxyInstance(RequestRepository.class.getClassLoader(),
+                new Class<?>[] {RequestRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "updateStatusIfCurrent" -> args[0] instanceof Collection<?> ids
+                            ? updateAll((Collection<Long>) ids, (RequestStatus) args[1], (RequestStatus) args[2])
+                            : updateAll(List.of((Long) args[0]), (RequestStatus) args[1], (RequestStatus) args[2]);
+                    case "lockStatusesByIdIn" -> statuses((Collection<Long>) args[0]);
+                    case "findById" -> Optional.ofNullable(rows.get((Long) args[0]));
+                    case "existsById" -> rows.containsKey((Long) args[0]);
+                    case "streamSearchFields" -> Stream.empty();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryRequestRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // Le thread d'écriture de l'historique vide sa file dans ce dépôt, qui ignore les lignes
+    private static RequestStatusHistoryRepository discardingHistoryRepository() {
+        return (RequestStatusHistoryRepository) Proxy.newProxyInstance(RequestStatusHistoryRepository.class.getClassLoader(),
+                new Class<?>[] {RequestStatusHistoryRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "DiscardingHistoryRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private int updateAll(Collection<Long> ids, RequestStatus from, RequestStatus to) {
+        int updated = 0;
+        for (Long id : ids) {
+            Request request = rows.get(id);
+            if (request != null && request.getStatus() == from) {
+                request.setStatus(to);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private List<RequestRepository.StatusView> statuses(Collection<Long> ids) {
+        List<RequestRepository.StatusView> views = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Request request = rows.get(id);
+            if (request != null) {
+                RequestStatus status = request.getStatus();
+                Long userId = request.getUserId();
+                views.add(new RequestRepository.StatusView() {
+                    @Override
+                    public Long getId() {
+                        return id;
+                    }
+
+                    @Override
+                    public RequestStatus getStatus() {
+                        return status;
+                    }
+
+                    @Override
+                    public Long getUserId() {
+                        return userId;
+                    }
+                });
+            }
+        }
+        return views;
+    }
+}
@@ -0,0 +1,40 @@
+package com.interactive.eserviceplatform.jmh;
+
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Construction du principal : depuis l'entité (login, mode base) et depuis les claims (mode claims-only)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserDetailsImplBenchmark {
+
+    private User user;
+    private List<String> roles;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user();
+        roles = List.of("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Benchmark
+    public UserDetailsImpl build() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    public UserDetailsImpl fromClaims() {
+        return UserDetailsImpl.fromClaims(42L, "benchmark-user", roles, 3);
+    }
+}
@@ -4,8 +4,8 @@ package com.interactive.eserviceplatform.config;
 
 import com.interactive.eserviceplatform.model.Role;
 import com.interactive.eserviceplatform.model.User;
-import com.interactive.eserviceplatform.repository.RoleRepository;
 import com.interactive.eserviceplatform.repository.UserRepository;
+import com.interactive.eserviceplatform.security.RoleRegistry;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,18 +21,16 @@ import java.util.Collections;
 public class DataInitializer {
 
     @Bean
-    public CommandLineRunner initializeData(RoleRepository roleRepository, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public CommandLineRunner initializeData(RoleRegistry roleRegistry, UserRepository userRepository, PasswordEncoder passwordEncoder) {
         return args -> {
             
             // --- 1. Role Initialization ---
-            // Finds or creates ROLE_USER
-            Role userRole = roleRepository.findByName("ROLE_USER")
-                                          .orElseGet(() -> roleRepository.save(new Role("ROLE_USER")));
+            // Finds or creates ROLE_USER (no query once the registry is loaded: it reloads itself after a creation)
+            Role userRole = roleRegistry.findOrCreate("ROLE_USER");
             System.out.println("Role ROLE_USER verified/created.");
 
             // Finds or creates ROLE_ADMIN
-            Role adminRole = roleRepository.findByName("ROLE_ADMIN")
-                                           .orElseGet(() -> roleRepository.save(new Role("ROLE_ADMIN")));
+            Role adminRole = roleRegistry.findOrCreate("ROLE_ADMIN");
             System.out.println("Role ROLE_ADMIN verified/created.");
             
             // --- 2. Default ADMIN Account Creation ---
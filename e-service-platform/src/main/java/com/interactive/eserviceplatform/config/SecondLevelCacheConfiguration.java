@@ -0,0 +1,89 @@
+package com.interactive.eserviceplatform.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de second niveau Hibernate (JCache servi par Caffeine) pour les comptes et les rôles.
+ *
+ * Politique d'invalidation :
+ * 1. Role (région "roles", READ_ONLY) : les rôles ne sont jamais modifiés, seulement créés (RoleRegistry).
+ * 2. User (région "users", READ_WRITE) et User.roles (région "users.roles", READ_WRITE) : chaque écriture
+ *    passant par Hibernate met à jour ou retire l'entrée au commit. Une mise à jour JPQL en masse
+ *    (UserRepository.incrementTokenVersion) vide les deux régions entières : c'est rare (révocation de jetons).
+ * 3. Requêtes en cache (findByUsername) : invalidées à chaque écriture dans la table users, via la région
+ *    des horodatages, qui n'est donc jamais bornée ni expirée.
+ * 4. Les écritures faites hors d'Hibernate (SQL manuel) ne sont pas vues : elles disparaissent au bout du TTL.
+ * 5. Les régions sont locales à chaque instance : une écriture faite sur une autre instance (mot de passe, rôles)
+ *    n'est vue ici qu'à l'expiration de l'entrée. Le TTL des comptes (hibernate.cache.users.ttl) reste donc au plus
+ *    égal à celui du cache des UserDetails (security.user-cache.ttl) : au pire, un compte modifié ailleurs est servi
+ *    périmé pendant la somme des deux (20 min par défaut). En mode claims-only, la révocation des jetons
+ *    n'attend pas ce délai (TokenVersionRegistry relit les versions en base).
+ *
+ * Chaque région est créée ici avec sa taille max et son TTL (missing_cache_strategy=fail : une région oubliée
+ * fait échouer le démarrage), et exposée dans les métriques de cache (cache.gets, cache.evictions...).
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    public static final String ROLES_REGION = "roles";
+    public static final String USERS_REGION = "users";
+    public static final String USER_ROLES_REGION = "users.roles";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${hibernate.cache.users.max-size:10000}") long usersMaxSize,
+                                              @Value("${hibernate.cache.users.ttl:PT10M}") Duration usersTtl,
+                                              @Value("${hibernate.cache.queries.max-size:10000}") long queriesMaxSize,
+                                              @Value("${hibernate.cache.queries.ttl:PT10M}") Duration queriesTtl,
+                                              MeterRegistry meterRegistry) {
+        // Un gestionnaire par contexte Spring (URI unique) : pas de région partagée entre deux contextes
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, ROLES_REGION, OptionalLong.empty(), null, meterRegistry);
+        createRegion(cacheManager, USERS_REGION, OptionalLong.of(usersMaxSize), usersTtl, meterRegistry);
+        createRegion(cacheManager, USER_ROLES_REGION, OptionalLong.of(usersMaxSize), usersTtl, meterRegistry);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.of(queriesMaxSize), queriesTtl, meterRegistry);
+        // Une entrée par table : ni borne ni TTL, sinon une requête en cache pourrait survivre à une écriture
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.empty(), null, meterRegistry);
+        return cacheManager;
+    }
+
+    // Les réglages booléens (use_second_level_cache, use_query_cache...) sont dans application.properties
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, OptionalLong maxSize, Duration ttl,
+                                     MeterRegistry meterRegistry) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Par référence : Hibernate stocke déjà des copies désassemblées (pas de sérialisation à chaque lecture)
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        configuration.setMaximumSize(maxSize);
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        javax.cache.Cache<Object, Object> region = cacheManager.createCache(name, configuration);
+        CaffeineCacheMetrics.monitor(meterRegistry,
+                region.unwrap(com.github.benmanes.caffeine.cache.Cache.class), "hibernate." + name);
+    }
+}
@@ -1,9 +1,17 @@
 package com.interactive.eserviceplatform.config;
 
+import com.interactive.eserviceplatform.security.AuthRateLimitFilter;
+import com.interactive.eserviceplatform.security.AuthRateLimiter;
+import com.interactive.eserviceplatform.security.BoundedPasswordEncoder;
 import com.interactive.eserviceplatform.security.UserDetailsServiceImpl;
 import com.interactive.eserviceplatform.security.jwt.AuthTokenFilter;
 import com.interactive.eserviceplatform.security.jwt.AuthEntryPointJwt;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -41,9 +49,38 @@ public class SecurityConfig {
         return new AuthTokenFilter();
     }
 
+    // Limitation de débit de /api/auth/** (par IP, par nom d'utilisateur, plafond global), avant BCrypt et la base
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthRateLimiter authRateLimiter(@Value("${security.auth-rate-limit.slots:65536}") int slots,
+                                           @Value("${security.auth-rate-limit.per-ip.burst:20}") int ipBurst,
+                                           @Value("${security.auth-rate-limit.per-ip.per-minute:60}") int ipPerMinute,
+                                           @Value("${security.auth-rate-limit.per-username.burst:5}") int usernameBurst,
+                                           @Value("${security.auth-rate-limit.per-username.per-minute:10}") int usernamePerMinute,
+                                           @Value("${security.auth-rate-limit.max-concurrent:32}") int maxConcurrent) {
+        return new AuthRateLimiter(slots, ipBurst, ipPerMinute, usernameBurst, usernamePerMinute, maxConcurrent);
+    }
+
+    @Bean
+    public AuthRateLimitFilter authRateLimitFilter(AuthRateLimiter authRateLimiter, ObjectMapper objectMapper,
+                                                   MeterRegistry meterRegistry,
+                                                   @Value("${security.auth-rate-limit.enabled:true}") boolean enabled,
+                                                   @Value("${security.auth-rate-limit.max-body-bytes:8192}") int maxBodyBytes,
+                                                   @Value("${security.auth-rate-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        return new AuthRateLimitFilter(authRateLimiter, objectMapper, meterRegistry, enabled, maxBodyBytes, retryAfterSeconds);
+    }
+
+    // BCrypt (coût configurable) exécuté sur un exécuteur borné : voir BoundedPasswordEncoder.
+    // Augmenter le coût est sans risque : les anciens hashes restent valides et sont recalculés
+    // au coût courant à la connexion suivante (UserAccountService.updatePassword).
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hashing-threads:0}") int threads,
+                                           @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password.retry-after-seconds:1}") int retryAfterSeconds,
+                                           MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity,
+                retryAfterSeconds, meterRegistry);
     }
 
     /**
@@ -58,13 +95,18 @@ public class SecurityConfig {
     // --- 2. Configuration de la Chaîne de Filtres (Règles d'accès) ---
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthRateLimitFilter authRateLimitFilter) throws Exception {
         http.csrf(csrf -> csrf.disable()) // Désactive CSRF pour les APIs REST
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler)) 
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Dispatch asynchrone (fin d'un flux SSE) : la requête d'origine a déjà été autorisée
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll() // Autorise l'accès à /api/auth (login, signup)
                 .requestMatchers("/api/public/**").permitAll() 
+                // Collecte Prometheus (sans jeton) : servie uniquement sur le port d'administration
+                // (management.server.port), jamais sur le port public ; ce port n'est ouvert qu'au réseau interne
+                .requestMatchers(EndpointRequest.to("prometheus")).permitAll()
                 .anyRequest().authenticated() 
             );
 
@@ -75,6 +117,8 @@ public class SecurityConfig {
         
         // Ajout du filtre JWT avant le filtre standard d'authentification
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Limitation de débit des endpoints d'authentification, avant même la lecture du JWT
+        http.addFilterBefore(authRateLimitFilter, AuthTokenFilter.class);
         
         // Configuration CORS (autorise le frontend Vite/React)
         http.cors(cors -> cors.configure(http));
@@ -0,0 +1,27 @@
+package com.interactive.eserviceplatform.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * StatementInspector Hibernate qui compte les instructions SQL préparées par le thread courant
+ * (spring.jpa.properties.hibernate.session_factory.statement_inspector). Un simple compteur par thread :
+ * aucune synchronisation sur le chemin des requêtes. Lu et remis à zéro par SqlStatementMetricsFilter.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+}
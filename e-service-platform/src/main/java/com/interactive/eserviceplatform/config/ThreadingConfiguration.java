@@ -0,0 +1,44 @@
+package com.interactive.eserviceplatform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Mode d'exécution : threads "plateforme" (défaut) ou threads virtuels (spring.threads.virtual.enabled=true,
+ * effectif uniquement sur une JVM 21+). En mode virtuel, Spring Boot sert chaque requête Tomcat et chaque
+ * tâche @Scheduled sur un thread virtuel ; les exécuteurs propres à l'application suivent le même mode.
+ *
+ * Avec des threads virtuels, le nombre de threads Tomcat ne limite plus le nombre de requêtes qui attendent
+ * une connexion JDBC : c'est le pool Hikari (maximum-pool-size, connection-timeout) qui borne la charge sur la base.
+ */
+@Configuration
+public class ThreadingConfiguration {
+
+    // Écriture des événements SSE (RequestEventHub) : pool borné de threads plateforme
+    @Bean(name = "requestEventDispatcher")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor requestEventDispatcher(@Value("${requests.events.dispatch-threads:4}") int dispatchThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dispatchThreads);
+        executor.setMaxPoolSize(dispatchThreads);
+        executor.setThreadNamePrefix("sse-dispatch-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    // ... ou un thread virtuel par vidage : un client lent ne bloque plus les envois vers les autres
+    @Bean(name = "requestEventDispatcher")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualRequestEventDispatcher() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-dispatch-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
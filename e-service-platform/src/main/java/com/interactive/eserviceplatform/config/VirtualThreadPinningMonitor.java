@@ -0,0 +1,91 @@
+package com.interactive.eserviceplatform.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Détection des threads virtuels "épinglés" (pinned) à leur thread porteur : un thread virtuel qui bloque
+ * dans un bloc synchronized ou un appel natif immobilise un thread porteur, ce qui annule le bénéfice du mode.
+ * Écoute l'événement JFR jdk.VirtualThreadPinned (au-delà d'un seuil), le compte dans
+ * jvm.threads.virtual.pinned et journalise (WARN, logger "threads.virtual.pinning") la pile d'appel en cause,
+ * au plus une fois par intervalle.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int REPORTED_FRAMES = 8;
+    private static final Logger log = LoggerFactory.getLogger("threads.virtual.pinning");
+
+    private final Duration threshold;
+    private final long reportIntervalNanos;
+    private final Counter pinnedEvents;
+    private final AtomicLong lastReport = new AtomicLong();
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${threads.virtual.pinning.threshold:PT0.02S}") Duration threshold,
+                                       @Value("${threads.virtual.pinning.report-interval:PT1M}") Duration reportInterval) {
+        this.threshold = threshold;
+        this.reportIntervalNanos = reportInterval.toNanos();
+        this.pinnedEvents = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the configured threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        long now = System.nanoTime();
+        long last = lastReport.get();
+        if (now - last < reportIntervalNanos && last != 0) {
+            return;
+        }
+        if (!lastReport.compareAndSet(last, now)) {
+            return;
+        }
+        StringBuilder report = new StringBuilder("Virtual thread pinned for ")
+                .append(event.getDuration().toMillis()).append(" ms");
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            for (int i = 0; i < Math.min(REPORTED_FRAMES, frames.size()); i++) {
+                RecordedFrame frame = frames.get(i);
+                report.append("\n\tat ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        log.warn(report.toString());
+    }
+}
@@ -1,13 +1,12 @@
 package com.interactive.eserviceplatform.controller;
 
-import com.interactive.eserviceplatform.model.Role;
-import com.interactive.eserviceplatform.model.User;
 import com.interactive.eserviceplatform.payload.request.AuthRequest;
+import com.interactive.eserviceplatform.payload.request.PasswordChangeRequest;
 import com.interactive.eserviceplatform.payload.response.AuthResponse;
-import com.interactive.eserviceplatform.repository.RoleRepository;
 import com.interactive.eserviceplatform.repository.UserRepository;
 import com.interactive.eserviceplatform.security.UserDetailsImpl;
 import com.interactive.eserviceplatform.security.jwt.JwtUtils;
+import com.interactive.eserviceplatform.service.UserAccountService;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,13 +14,11 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -31,15 +28,13 @@ public class AuthController {
     // Injection des dépendances nécessaires
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder encoder;
+    private final UserAccountService userAccountService;
     private final JwtUtils jwtUtils;
 
-    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder encoder, JwtUtils jwtUtils) {
+    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository, UserAccountService userAccountService, JwtUtils jwtUtils) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
-        this.encoder = encoder;
+        this.userAccountService = userAccountService;
         this.jwtUtils = jwtUtils;
     }
 
@@ -51,18 +46,8 @@ public class AuthController {
             return new ResponseEntity<>("Error: Username is already taken!", HttpStatus.BAD_REQUEST);
         }
 
-        // Tâche 2 : Créer l'objet User et hacher le mot de passe
-        User user = new User(signUpRequest.getUsername(), 
-                             encoder.encode(signUpRequest.getPassword()));
-
-        // Tâche 3 : Assigner le rôle par défaut (ROLE_USER)
-        Role userRole = roleRepository.findByName("ROLE_USER")
-                .orElseThrow(() -> new RuntimeException("Error: Role not found. Please ensure ROLE_USER is in the database."));
-        
-        user.setRoles(Collections.singleton(userRole));
-        
-        // Tâche 4 : Sauvegarder et retourner un message de succès
-        userRepository.save(user);
+        // Tâche 2 : Créer l'utilisateur (mot de passe haché, rôle ROLE_USER, cache invalidé)
+        userAccountService.register(signUpRequest.getUsername(), signUpRequest.getPassword());
         return ResponseEntity.ok("User registered successfully!");
     }
 
@@ -94,4 +79,30 @@ public class AuthController {
                 userDetails.getUsername(), 
                 roles));
     }
+
+    // --- 3. LOGOUT (Révocation de tous les jetons de l'utilisateur courant) ---
+    @PostMapping("/logout")
+    public ResponseEntity<?> logoutUser(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        // /api/auth/** est public : on vérifie nous-mêmes qu'un jeton valide a été fourni
+        if (userDetails == null) {
+            return new ResponseEntity<>("Error: Authentication required.", HttpStatus.UNAUTHORIZED);
+        }
+        userAccountService.revokeTokens(userDetails.getId());
+        return ResponseEntity.ok("All tokens revoked. Please log in again.");
+    }
+
+    // --- 4. CHANGEMENT DE MOT DE PASSE (révoque aussi les jetons existants) ---
+    @PostMapping("/password")
+    public ResponseEntity<?> changePassword(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                            @RequestBody PasswordChangeRequest passwordChangeRequest) {
+        if (userDetails == null) {
+            return new ResponseEntity<>("Error: Authentication required.", HttpStatus.UNAUTHORIZED);
+        }
+        // Vérifie l'ancien mot de passe via l'AuthenticationManager (même chemin que le login)
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                userDetails.getUsername(), passwordChangeRequest.getCurrentPassword()));
+
+        userAccountService.changePassword(userDetails.getId(), passwordChangeRequest.getNewPassword());
+        return ResponseEntity.ok("Password changed successfully. Please log in again.");
+    }
 }
@@ -1,12 +1,40 @@
 package com.interactive.eserviceplatform.controller;
 
+import com.interactive.eserviceplatform.model.DocumentType;
 import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.model.RequestStatusHistory;
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import com.interactive.eserviceplatform.service.ExportFormat;
+import com.interactive.eserviceplatform.service.RequestEventHub;
+import com.interactive.eserviceplatform.service.RequestExportService;
+import com.interactive.eserviceplatform.service.RequestImportService;
 import com.interactive.eserviceplatform.service.RequestService;
 import com.interactive.eserviceplatform.exception.ResourceNotFoundException; // Nécessaire pour le GET
+import com.interactive.eserviceplatform.exception.InvalidPageRequestException;
+import com.interactive.eserviceplatform.payload.request.BulkTransitionRequest;
+import com.interactive.eserviceplatform.payload.request.RequestFilter;
+import com.interactive.eserviceplatform.payload.response.BulkTransitionResponse;
+import com.interactive.eserviceplatform.payload.response.FilterPageResponse;
+import com.interactive.eserviceplatform.payload.response.ImportResponse;
+import com.interactive.eserviceplatform.payload.response.PageResponse;
+import com.interactive.eserviceplatform.payload.response.RequestStatsResponse;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -14,10 +42,29 @@ import java.util.List;
 public class RequestController {
 
     private final RequestService requestService;
+    private final RequestImportService requestImportService;
+    private final RequestExportService requestExportService;
+    private final RequestEventHub requestEventHub;
+
+    // Les listes non bornées ("all=true") ne sont servies que si elles sont explicitement autorisées
+    private final boolean allowUnbounded;
+
+    // GET conditionnels (If-None-Match) : réponses 304 et réponses complètes, pour suivre le ratio de 304
+    private final Counter notModifiedResponses;
+    private final Counter fullResponses;
 
     // Injection de dépendance par constructeur (sans @Autowired)
-    public RequestController(RequestService requestService) {
+    public RequestController(RequestService requestService, RequestImportService requestImportService,
+                             RequestExportService requestExportService, RequestEventHub requestEventHub,
+                             MeterRegistry meterRegistry,
+                             @Value("${requests.pagination.allow-unbounded:false}") boolean allowUnbounded) {
         this.requestService = requestService;
+        this.requestImportService = requestImportService;
+        this.requestExportService = requestExportService;
+        this.requestEventHub = requestEventHub;
+        this.allowUnbounded = allowUnbounded;
+        this.notModifiedResponses = meterRegistry.counter("requests.conditional.get", "result", "not_modified");
+        this.fullResponses = meterRegistry.counter("requests.conditional.get", "result", "full");
     }
 
     // 1. Endpoint POST (Création)
@@ -28,27 +75,91 @@ public class RequestController {
     }
     
     // 2. Endpoint GET (Consultation par ID)
+    // ETag fort = version de la ligne : un client qui renvoie If-None-Match reçoit 304 (sans corps)
+    // tant que la demande n'a pas changé ; la demande est servie par le cache du service.
     @GetMapping("/{id}")
-    public ResponseEntity<Request> getRequestById(@PathVariable Long id) {
+    public ResponseEntity<Request> getRequestById(@PathVariable Long id, WebRequest webRequest) {
         // Si la demande n'existe pas, ResourceNotFoundException est lancée et interceptée globalement
         Request request = requestService.getRequestById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found with ID: " + id));
-        return new ResponseEntity<>(request, HttpStatus.OK);
+        String eTag = "\"" + request.getVersion() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            notModifiedResponses.increment();
+            return null; // 304 déjà préparée par checkNotModified
+        }
+        fullResponses.increment();
+        return ResponseEntity.ok().eTag(eTag).body(request);
     }
 
     // 3. Endpoint GET pour lister les demandes d'un utilisateur
+    // Paginé par curseur : renvoyer nextPageToken dans "pageToken" pour obtenir la page suivante.
     // Retourne 200 OK (même si la liste est vide)
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Request>> getRequestsByUserId(@PathVariable Long userId) {
-        List<Request> requests = requestService.getRequestsByUserId(userId);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+    public ResponseEntity<?> getRequestsByUserId(@PathVariable Long userId,
+                                                 @RequestParam(required = false) String pageToken,
+                                                 @RequestParam(defaultValue = "20") int size,
+                                                 @RequestParam(defaultValue = "false") boolean all) {
+        if (all) {
+            checkUnboundedAllowed();
+            List<RequestSummary> requests = requestService.getAllRequestsByUserId(userId);
+            return new ResponseEntity<>(requests, HttpStatus.OK);
+        }
+        PageResponse<RequestSummary> page = requestService.getRequestsByUserId(userId, pageToken, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
-    // 3bis. lister par statut
+    // 3bis. lister par statut (même pagination)
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Request>> getRequestsByStatus(@PathVariable String status) {
-        List<Request> requests = requestService.getRequestsByStatus(status);
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+    public ResponseEntity<?> getRequestsByStatus(@PathVariable RequestStatus status,
+                                                 @RequestParam(required = false) String pageToken,
+                                                 @RequestParam(defaultValue = "20") int size,
+                                                 @RequestParam(defaultValue = "false") boolean all) {
+        if (all) {
+            checkUnboundedAllowed();
+            List<RequestSummary> requests = requestService.getAllRequestsByStatus(status);
+            return new ResponseEntity<>(requests, HttpStatus.OK);
+        }
+        PageResponse<RequestSummary> page = requestService.getRequestsByStatus(status, pageToken, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    // 3bis bis. Filtre multi-critères (ADMIN) : userId, status, documentType, createdFrom/createdTo, deadlineFrom/deadlineTo
+    // Combinaisons acceptées : userId (+ tout autre critère), status [+ documentType] [+ plage de création],
+    // status + plage d'échéance ; sinon 400. Première page : nombre approximatif de résultats (sans COUNT(*)).
+    @GetMapping("/filter")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FilterPageResponse> filterRequests(RequestFilter filter,
+                                                             @RequestParam(required = false) String pageToken,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(requestService.filterRequests(filter, pageToken, size), HttpStatus.OK);
+    }
+
+    // 3bis ter. Recherche plein texte (titre, description, lieu de naissance), sans tenir compte des accents ni de la casse
+    // Résultats par pertinence décroissante, filtrables par statut et type de document, paginés par jeton.
+    // Retourne 400 si "q" ne contient aucun mot, 503 (+ Retry-After) tant que l'index se charge au démarrage
+    // Réservé aux administrateurs : la recherche porte sur les demandes de tous les utilisateurs
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponse<RequestSummary>> search(@RequestParam String q,
+                                                               @RequestParam(required = false) RequestStatus status,
+                                                               @RequestParam(required = false) DocumentType documentType,
+                                                               @RequestParam(required = false) String pageToken,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        return new ResponseEntity<>(requestService.search(q, status, documentType, pageToken, size), HttpStatus.OK);
+    }
+
+    // 3ter. Nombre de demandes par statut et par type de document (tableaux de bord)
+    // Servi depuis des compteurs en mémoire : aucun accès à la base, quel que soit le rythme de rafraîchissement
+    @GetMapping("/stats")
+    public ResponseEntity<RequestStatsResponse> getStats() {
+        return new ResponseEntity<>(requestService.getStats(), HttpStatus.OK);
+    }
+
+    // 3quater. Historique des statuts d'une demande (qui, quand, de quel statut vers quel statut)
+    // Retourne 404 si la demande n'existe pas
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<RequestStatusHistory>> getStatusHistory(@PathVariable Long id) {
+        return new ResponseEntity<>(requestService.getStatusHistory(id), HttpStatus.OK);
     }
 
     // 4. Endpoint PUT (Soumission de la Demande)
@@ -75,4 +186,73 @@ public class RequestController {
         Request approvedRequest = requestService.approveRequest(id);
         return new ResponseEntity<>(approvedRequest, HttpStatus.OK);
     }
+
+    // 7. Endpoint PUT (Transition par lot : soumettre / approuver / rejeter des milliers de demandes en un appel)
+    // Retourne 200 OK avec l'issue de chaque id (applied, wrongState, notFound)
+    // Réservé aux administrateurs (traitement des files d'attente) : touche les demandes de tous les utilisateurs
+    @PutMapping("/transitions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkTransitionResponse> bulkTransition(@RequestBody BulkTransitionRequest bulkRequest) {
+        BulkTransitionResponse result = requestService.bulkTransition(bulkRequest.getIds(), bulkRequest.getTargetStatus());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // 8. Endpoint POST (Import en flux : une demande JSON par ligne, corps lu au fil de l'eau)
+    // Retourne 200 OK avec le nombre de lignes importées et le débit ; une ligne illisible -> 400
+    // Réservé aux administrateurs : les lignes importées portent l'userId fourni
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResponse> importRequests(InputStream body) throws IOException {
+        ImportResponse result = requestImportService.importNdjson(body);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // 9. Endpoints GET (Export en flux, pour les traitements de reporting)
+    // Les lignes sont écrites au fil de la lecture du curseur : ni liste ni tableau JSON complet en mémoire.
+    // format = ndjson (défaut) ou csv. Réservés aux administrateurs : exportent les demandes de tous les utilisateurs
+    @GetMapping("/export/status/{status}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportByStatus(@PathVariable RequestStatus status,
+                               @RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        startExport(response, exportFormat, "requests-" + status.name().toLowerCase());
+        requestExportService.exportByStatus(status, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/export/user/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportByUserId(@PathVariable Long userId,
+                               @RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        startExport(response, exportFormat, "requests-user-" + userId);
+        requestExportService.exportByUserId(userId, exportFormat, response.getOutputStream());
+    }
+
+    // 10. Endpoint GET (Flux SSE des changements de statut, remplace le polling du frontend)
+    // Un utilisateur reçoit les changements de ses demandes ; un ADMIN reçoit aussi la file SUBMITTED.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToEvents(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        if (userDetails == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        boolean admin = userDetails.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return new ResponseEntity<>(requestEventHub.subscribe(userDetails.getId(), admin), HttpStatus.OK);
+    }
+
+    private static void startExport(HttpServletResponse response, ExportFormat format, String fileName) {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"" + fileName + "." + format.name().toLowerCase() + "\"");
+    }
+
+    private void checkUnboundedAllowed() {
+        if (!allowUnbounded) {
+            throw new InvalidPageRequestException("Unbounded lists are disabled (requests.pagination.allow-unbounded).");
+        }
+    }
 }
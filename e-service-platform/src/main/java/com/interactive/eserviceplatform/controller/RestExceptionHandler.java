@@ -1,8 +1,17 @@
 package com.interactive.eserviceplatform.controller;
 
+import com.interactive.eserviceplatform.exception.InvalidBulkRequestException;
+import com.interactive.eserviceplatform.exception.InvalidFilterRequestException;
+import com.interactive.eserviceplatform.exception.InvalidPageRequestException;
+import com.interactive.eserviceplatform.exception.InvalidSearchRequestException;
 import com.interactive.eserviceplatform.exception.InvalidStatusTransitionException;
+import com.interactive.eserviceplatform.exception.PasswordHashingBusyException;
 import com.interactive.eserviceplatform.exception.ResourceNotFoundException;
+import com.interactive.eserviceplatform.exception.SearchIndexUnavailableException;
+import com.interactive.eserviceplatform.exception.UnsupportedExportFormatException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,5 +32,52 @@ public class RestExceptionHandler {
         return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPageRequest(InvalidPageRequestException ex) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidBulkRequest(InvalidBulkRequestException ex) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidFilterRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidFilterRequest(InvalidFilterRequestException ex) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSearchRequest(InvalidSearchRequestException ex) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<Map<String, String>> handleUnsupportedExportFormat(UnsupportedExportFormatException ex) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    // Verrou optimiste (@Version) : la demande a été modifiée entre la lecture et l'écriture
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(Map.of("error", "The request was modified concurrently. Please reload it and retry."), HttpStatus.CONFLICT);
+    }
+
+    // Exécuteur de hachage saturé (pic de connexions) : le client doit réessayer plus tard
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // Index de recherche en cours de chargement (démarrage de l'instance)
+    @ExceptionHandler(SearchIndexUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleSearchIndexUnavailable(SearchIndexUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     // Note : Pour les autres Runtime Exceptions non gérées, Spring renverra par défaut 500 INTERNAL SERVER ERROR.
 }
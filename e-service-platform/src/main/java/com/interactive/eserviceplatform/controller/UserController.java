@@ -0,0 +1,35 @@
+package com.interactive.eserviceplatform.controller;
+
+import com.interactive.eserviceplatform.model.Role;
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.service.UserAccountService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/users")
+public class UserController {
+
+    private final UserAccountService userAccountService;
+
+    public UserController(UserAccountService userAccountService) {
+        this.userAccountService = userAccountService;
+    }
+
+    // 1. Endpoint PUT (Changement des rôles d'un utilisateur, réservé aux ADMIN)
+    // Retourne l'id, le username et les nouveaux rôles (jamais le mot de passe)
+    @PutMapping("/{id}/roles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> changeRoles(@PathVariable Long id, @RequestBody Set<String> roleNames) {
+        User user = userAccountService.changeRoles(id, roleNames);
+        List<String> roles = user.getRoles().stream().map(Role::getName).toList();
+        return new ResponseEntity<>(Map.of("id", user.getId(), "username", user.getUsername(), "roles", roles), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,8 @@
+package com.interactive.eserviceplatform.exception;
+
+// Exception personnalisée pour un traitement par lot invalide : trop d'ids, statut cible inatteignable, ligne d'import illisible (-> 400)
+public class InvalidBulkRequestException extends IllegalArgumentException {
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
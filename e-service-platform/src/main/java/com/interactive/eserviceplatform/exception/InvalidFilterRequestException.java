@@ -0,0 +1,8 @@
+package com.interactive.eserviceplatform.exception;
+
+// Exception personnalisée pour une combinaison de critères qu'aucun index ne sert (-> 400)
+public class InvalidFilterRequestException extends IllegalArgumentException {
+    public InvalidFilterRequestException(String message) {
+        super(message);
+    }
+}
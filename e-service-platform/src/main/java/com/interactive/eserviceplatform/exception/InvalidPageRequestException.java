@@ -0,0 +1,8 @@
+package com.interactive.eserviceplatform.exception;
+
+// Exception personnalisée pour une demande de page invalide : jeton illisible ou liste non bornée refusée (-> 400)
+public class InvalidPageRequestException extends IllegalArgumentException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.interactive.eserviceplatform.exception;
+
+// Exception personnalisée pour une recherche invalide : texte vide ou sans mot indexable (-> 400)
+public class InvalidSearchRequestException extends IllegalArgumentException {
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.interactive.eserviceplatform.exception;
+
+// Exception personnalisée quand l'exécuteur de hachage des mots de passe est saturé (-> 429 + Retry-After)
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.interactive.eserviceplatform.exception;
+
+// Exception personnalisée quand l'index de recherche n'est pas encore chargé (démarrage) (-> 503 + Retry-After)
+public class SearchIndexUnavailableException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public SearchIndexUnavailableException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
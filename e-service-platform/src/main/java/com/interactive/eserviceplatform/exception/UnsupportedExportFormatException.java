@@ -0,0 +1,8 @@
+package com.interactive.eserviceplatform.exception;
+
+// Exception personnalisée pour un format d'export inconnu (paramètre format autre que ndjson / csv -> 400)
+public class UnsupportedExportFormatException extends IllegalArgumentException {
+    public UnsupportedExportFormatException(String message) {
+        super(message);
+    }
+}
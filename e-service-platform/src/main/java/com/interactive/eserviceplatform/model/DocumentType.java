@@ -0,0 +1,59 @@
+package com.interactive.eserviceplatform.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Types de document pouvant être demandés. Stockés en base sous forme de code compact
+ * (colonne smallint document_type_code) et exposés en JSON avec le libellé du frontend.
+ * Les codes ne doivent JAMAIS être réutilisés ni renumérotés (ils sont persistés).
+ */
+public enum DocumentType {
+
+    // Valeurs historiques non reconnues lors de la migration du texte libre vers les codes
+    AUTRE((short) 0, "AUTRE"),
+    CNI((short) 1, "CARTE IDENTITE"),
+    PASSEPORT((short) 2, "PASSEPORT"),
+    PERMIS((short) 3, "PERMIS DE CONDUIRE");
+
+    private final short code;
+    private final String label;
+
+    DocumentType(short code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public static DocumentType fromCode(short code) {
+        for (DocumentType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown document type code: " + code);
+    }
+
+    // Accepte le libellé ("CARTE IDENTITE") ou le nom court ("CNI"), sans tenir compte de la casse
+    @JsonCreator
+    public static DocumentType fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim();
+        for (DocumentType type : values()) {
+            if (type.label.equalsIgnoreCase(normalized) || type.name().equalsIgnoreCase(normalized)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown document type: " + value);
+    }
+}
@@ -0,0 +1,19 @@
+package com.interactive.eserviceplatform.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Convertit DocumentType <-> code smallint (appliqué automatiquement à tous les attributs DocumentType)
+@Converter(autoApply = true)
+public class DocumentTypeConverter implements AttributeConverter<DocumentType, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(DocumentType type) {
+        return type == null ? null : type.getCode();
+    }
+
+    @Override
+    public DocumentType convertToEntityAttribute(Short code) {
+        return code == null ? null : DocumentType.fromCode(code);
+    }
+}
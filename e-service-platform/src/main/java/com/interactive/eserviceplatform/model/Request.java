@@ -1,25 +1,40 @@
 
 package com.interactive.eserviceplatform.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "service_requests")
+// Le schéma est géré par Flyway (src/main/resources/db/migration/common) : ces index y sont créés,
+// ils sont déclarés ici pour documenter les requêtes qu'ils servent.
+@Table(name = "service_requests", indexes = {
+    @Index(name = "idx_service_requests_user_created", columnList = "user_id, created_at desc, id desc"),
+    @Index(name = "idx_service_requests_status_created", columnList = "status_code, created_at desc, id desc"),
+    @Index(name = "idx_service_requests_status_type_created", columnList = "status_code, document_type_code, created_at desc, id desc"),
+    @Index(name = "idx_service_requests_status_deadline", columnList = "status_code, deadline, id")
+})
 public class Request {
 
+    // Ids alloués par séquence (optimiseur "pooled" : 1 appel à la séquence pour 50 ids),
+    // ce qui permet à Hibernate de regrouper les INSERT en lots JDBC (impossible avec IDENTITY)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_requests_seq")
+    @SequenceGenerator(name = "service_requests_seq", sequenceName = "service_requests_seq", allocationSize = 50)
     private Long id;
 
     private Long userId; // L'utilisateur qui fait la demande
 
-    private String documentType; // (CNI, PASSEPORT, PERMIS)
+    @Column(name = "document_type_code")
+    private DocumentType documentType; // (CNI, PASSEPORT, PERMIS) -> code smallint
 
     private String title;
     
@@ -29,12 +44,19 @@ public class Request {
 
     private String birthPlace;
 
-    private String status;  // (DRAFT, SUBMITTED, APPROVED, etc.)
+    @Column(name = "status_code")
+    private RequestStatus status;  // (DRAFT, SUBMITTED, APPROVED, etc.) -> code smallint
     
+    @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     private LocalDateTime deadline;
 
+    // Verrou optimiste : incrémenté à chaque modification (aussi par les transitions conditionnelles du repository)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // --- CONSTRUCTEUR PAR DÉFAUT (nécessaire pour JPA) ---
     public Request() {
     }
@@ -50,7 +72,7 @@ public class Request {
         return userId;
     }
      
-    public String getDocumentType() {
+    public DocumentType getDocumentType() {
         return documentType;
     }
 
@@ -70,7 +92,7 @@ public class Request {
         return birthPlace;
     }
 
-    public String getStatus() {
+    public RequestStatus getStatus() {
         return status;
     }
 
@@ -81,6 +103,10 @@ public class Request {
     public LocalDateTime getDeadline() {
         return deadline;
     }
+
+    public Long getVersion() {
+        return version;
+    }
     
     public void setTitle(String title) {
         this.title = title;
@@ -90,7 +116,7 @@ public class Request {
         this.userId = userId;
     }
 
-    public void setDocumentType(String documentType) {
+    public void setDocumentType(DocumentType documentType) {
         this.documentType = documentType;
     }
 
@@ -106,7 +132,7 @@ public class Request {
         this.birthPlace = birthPlace;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(RequestStatus status) {
         this.status = status;
     }
     
@@ -121,5 +147,9 @@ public class Request {
     public void setDeadline(LocalDateTime deadline) {
         this.deadline = deadline;
     }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     
 }
\ No newline at end of file
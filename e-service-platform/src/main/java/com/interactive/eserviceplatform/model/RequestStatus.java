@@ -0,0 +1,49 @@
+package com.interactive.eserviceplatform.model;
+
+/**
+ * Statuts du cycle de vie (BPM) d'une demande : DRAFT -> SUBMITTED -> APPROVED / REJECTED,
+ * ou SUBMITTED -> EXPIRED quand la date limite (deadline) est dépassée (voir RequestExpiryScheduler).
+ * En base, chaque statut est stocké sous forme de code compact (colonne smallint status_code).
+ * Les codes ne doivent JAMAIS être réutilisés ni renumérotés (ils sont persistés).
+ */
+public enum RequestStatus {
+
+    DRAFT((short) 0),
+    SUBMITTED((short) 1),
+    APPROVED((short) 2),
+    REJECTED((short) 3),
+    EXPIRED((short) 4);
+
+    private final short code;
+
+    RequestStatus(short code) {
+        this.code = code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    // Statut que doit avoir une demande pour passer dans ce statut (null : statut initial, aucune transition n'y mène)
+    public RequestStatus requiredPreviousStatus() {
+        return switch (this) {
+            case DRAFT -> null;
+            case SUBMITTED -> DRAFT;
+            case APPROVED, REJECTED, EXPIRED -> SUBMITTED;
+        };
+    }
+
+    // Statut posé uniquement par le système (échéance), jamais par un appel de l'API
+    public boolean isSystemOnly() {
+        return this == EXPIRED;
+    }
+
+    public static RequestStatus fromCode(short code) {
+        for (RequestStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown request status code: " + code);
+    }
+}
@@ -0,0 +1,19 @@
+package com.interactive.eserviceplatform.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Convertit RequestStatus <-> code smallint (appliqué automatiquement à tous les attributs RequestStatus)
+@Converter(autoApply = true)
+public class RequestStatusConverter implements AttributeConverter<RequestStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(RequestStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public RequestStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : RequestStatus.fromCode(code);
+    }
+}
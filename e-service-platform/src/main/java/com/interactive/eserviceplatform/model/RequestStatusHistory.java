@@ -0,0 +1,86 @@
+package com.interactive.eserviceplatform.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Une ligne de l'historique des statuts : qui a fait passer la demande de fromStatus à toStatus, et quand.
+ * Journal en ajout seul : aucune ligne n'est jamais modifiée (pas de setters). fromStatus est null à la création.
+ */
+@Entity
+@Table(name = "request_status_history", indexes = {
+    @Index(name = "idx_status_history_request", columnList = "request_id, occurred_at, id")
+})
+public class RequestStatusHistory {
+
+    // Ids alloués par séquence "pooled" : les lots du StatusHistoryWriter sont insérés en lots JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_status_history_seq")
+    @SequenceGenerator(name = "request_status_history_seq", sequenceName = "request_status_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long requestId;
+
+    @Column(name = "from_status_code")
+    private RequestStatus fromStatus;
+
+    @Column(name = "to_status_code", nullable = false)
+    private RequestStatus toStatus;
+
+    // Nom de l'utilisateur authentifié, ou "system" (échéances, traitements sans utilisateur)
+    @Column(nullable = false)
+    private String actor;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Constructeur par défaut (nécessaire pour JPA)
+    protected RequestStatusHistory() {
+    }
+
+    public RequestStatusHistory(Long requestId, RequestStatus fromStatus, RequestStatus toStatus, String actor,
+                                LocalDateTime occurredAt) {
+        this.requestId = requestId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.actor = actor;
+        this.occurredAt = occurredAt;
+    }
+
+    // Même ligne, sans id (nouvel essai d'insertion après l'échec d'un lot)
+    public RequestStatusHistory copy() {
+        return new RequestStatusHistory(requestId, fromStatus, toStatus, actor, occurredAt);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public RequestStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public RequestStatus getToStatus() {
+        return toStatus;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
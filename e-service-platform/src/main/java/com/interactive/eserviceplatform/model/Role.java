@@ -2,10 +2,17 @@
 
 package com.interactive.eserviceplatform.model;
 
+import com.interactive.eserviceplatform.config.SecondLevelCacheConfiguration;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
 @Table(name = "roles")
+// Jamais modifié après création (instances partagées par RoleRegistry) : lecture seule dans le cache de second niveau
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = SecondLevelCacheConfiguration.ROLES_REGION)
 public class Role {
 
     @Id
@@ -23,9 +30,7 @@ public class Role {
         this.name = name;
     }
 
-    // Getters et Setters
+    // Getters (pas de setters : entité immuable)
     public Long getId() { return id; }
     public String getName() { return name; }
-    public void setId(Long id) { this.id = id; }
-    public void setName(String name) { this.name = name; }
 }
\ No newline at end of file
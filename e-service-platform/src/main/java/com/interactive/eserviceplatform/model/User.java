@@ -1,11 +1,16 @@
 package com.interactive.eserviceplatform.model;
 
 import jakarta.persistence.*;
+import com.interactive.eserviceplatform.config.SecondLevelCacheConfiguration;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.USERS_REGION)
 public class User {
 
     @Id
@@ -16,9 +21,16 @@ public class User {
     private String username; 
 
     private String password; 
+
+    // Version des jetons : incrémentée pour révoquer tous les JWT déjà émis pour cet utilisateur
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int tokenVersion = 0;
     
     // Relation Many-to-Many avec la table Role
+    // Ids des rôles en cache (région users.roles), les rôles eux-mêmes dans la région roles
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.USER_ROLES_REGION)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -40,11 +52,13 @@ public class User {
     public String getUsername() { return username; }
     public String getPassword() { return password; }
     public Set<Role> getRoles() { return roles; }
+    public int getTokenVersion() { return tokenVersion; }
 
     // Setters
     public void setId(Long id) { this.id = id; }
     public void setUsername(String username) { this.username = username; }
     public void setPassword(String password) { this.password = password; }
     public void setRoles(Set<Role> roles) { this.roles = roles; }
+    public void setTokenVersion(int tokenVersion) { this.tokenVersion = tokenVersion; }
 
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.interactive.eserviceplatform.payload.request;
+
+import com.interactive.eserviceplatform.model.RequestStatus;
+
+import java.util.List;
+
+// DTO pour appliquer la même transition à un lot de demandes
+// Ex : { "ids": [1, 2, 3], "targetStatus": "APPROVED" }
+public class BulkTransitionRequest {
+    private List<Long> ids;
+    private RequestStatus targetStatus;
+
+    // Getters et Setters...
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public RequestStatus getTargetStatus() { return targetStatus; }
+    public void setTargetStatus(RequestStatus targetStatus) { this.targetStatus = targetStatus; }
+}
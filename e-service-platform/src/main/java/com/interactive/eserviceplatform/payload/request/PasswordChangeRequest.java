@@ -0,0 +1,13 @@
+package com.interactive.eserviceplatform.payload.request;
+
+// DTO pour le changement de mot de passe de l'utilisateur connecté
+public class PasswordChangeRequest {
+    private String currentPassword;
+    private String newPassword;
+
+    // Getters et Setters...
+    public String getCurrentPassword() { return currentPassword; }
+    public void setCurrentPassword(String currentPassword) { this.currentPassword = currentPassword; }
+    public String getNewPassword() { return newPassword; }
+    public void setNewPassword(String newPassword) { this.newPassword = newPassword; }
+}
@@ -0,0 +1,42 @@
+package com.interactive.eserviceplatform.payload.request;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Critères du filtre multi-critères (paramètres de GET /api/v1/requests/filter), tous facultatifs
+// Bornes "from" incluses, bornes "to" exclues. Ex : ?status=SUBMITTED&deadlineTo=2025-07-01T00:00:00
+public class RequestFilter {
+    private Long userId;
+    private RequestStatus status;
+    private DocumentType documentType;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineTo;
+
+    // Getters et Setters...
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public RequestStatus getStatus() { return status; }
+    public void setStatus(RequestStatus status) { this.status = status; }
+    public DocumentType getDocumentType() { return documentType; }
+    public void setDocumentType(DocumentType documentType) { this.documentType = documentType; }
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDateTime createdFrom) { this.createdFrom = createdFrom; }
+    public LocalDateTime getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDateTime createdTo) { this.createdTo = createdTo; }
+    public LocalDateTime getDeadlineFrom() { return deadlineFrom; }
+    public void setDeadlineFrom(LocalDateTime deadlineFrom) { this.deadlineFrom = deadlineFrom; }
+    public LocalDateTime getDeadlineTo() { return deadlineTo; }
+    public void setDeadlineTo(LocalDateTime deadlineTo) { this.deadlineTo = deadlineTo; }
+
+    public boolean hasCreatedRange() { return createdFrom != null || createdTo != null; }
+    public boolean hasDeadlineRange() { return deadlineFrom != null || deadlineTo != null; }
+}
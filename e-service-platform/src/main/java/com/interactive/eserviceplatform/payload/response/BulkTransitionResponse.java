@@ -0,0 +1,24 @@
+package com.interactive.eserviceplatform.payload.response;
+
+import com.interactive.eserviceplatform.model.RequestStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// DTO de réponse d'une transition par lot : le résultat de chaque id, regroupé par issue
+public class BulkTransitionResponse {
+    private final RequestStatus targetStatus;
+    private final List<Long> applied = new ArrayList<>();     // transition appliquée
+    private final List<Long> wrongState = new ArrayList<>();  // demande pas (ou plus) dans le statut requis
+    private final List<Long> notFound = new ArrayList<>();    // aucune demande avec cet id
+
+    public BulkTransitionResponse(RequestStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    // Getters (pas besoin de setters pour une réponse)
+    public RequestStatus getTargetStatus() { return targetStatus; }
+    public List<Long> getApplied() { return applied; }
+    public List<Long> getWrongState() { return wrongState; }
+    public List<Long> getNotFound() { return notFound; }
+}
@@ -0,0 +1,26 @@
+package com.interactive.eserviceplatform.payload.response;
+
+import java.util.List;
+
+// DTO de réponse du filtre multi-critères : une page (curseur) et, sur la première page seulement,
+// un nombre approximatif de résultats (exact jusqu'au plafond requests.filter.count-cap, "au moins" au-delà)
+public class FilterPageResponse {
+    private final List<RequestSummary> items;
+    private final String nextPageToken;
+    private final Long approximateCount;
+    private final Boolean countExact;
+
+    public FilterPageResponse(List<RequestSummary> items, String nextPageToken, Long approximateCount, Boolean countExact) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+        this.approximateCount = approximateCount;
+        this.countExact = countExact;
+    }
+
+    // Getters (pas besoin de setters pour une réponse)
+    public List<RequestSummary> getItems() { return items; }
+    public String getNextPageToken() { return nextPageToken; }
+    public int getSize() { return items.size(); }
+    public Long getApproximateCount() { return approximateCount; }
+    public Boolean getCountExact() { return countExact; }
+}
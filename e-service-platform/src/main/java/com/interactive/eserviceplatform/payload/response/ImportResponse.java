@@ -0,0 +1,20 @@
+package com.interactive.eserviceplatform.payload.response;
+
+// DTO de réponse d'un import en flux : lignes importées, tranches validées et débit mesuré
+public class ImportResponse {
+    private final long imported;
+    private final int chunks;
+    private final long elapsedMs;
+
+    public ImportResponse(long imported, int chunks, long elapsedMs) {
+        this.imported = imported;
+        this.chunks = chunks;
+        this.elapsedMs = elapsedMs;
+    }
+
+    // Getters (pas besoin de setters pour une réponse)
+    public long getImported() { return imported; }
+    public int getChunks() { return chunks; }
+    public long getElapsedMs() { return elapsedMs; }
+    public long getRowsPerSecond() { return elapsedMs == 0 ? imported * 1000 : imported * 1000 / elapsedMs; }
+}
@@ -0,0 +1,20 @@
+package com.interactive.eserviceplatform.payload.response;
+
+import java.util.List;
+
+// DTO de réponse des listes paginées par curseur
+// nextPageToken est null quand il n'y a plus de page suivante
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextPageToken;
+
+    public PageResponse(List<T> items, String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+
+    // Getters (pas besoin de setters pour une réponse)
+    public List<T> getItems() { return items; }
+    public String getNextPageToken() { return nextPageToken; }
+    public int getSize() { return items.size(); }
+}
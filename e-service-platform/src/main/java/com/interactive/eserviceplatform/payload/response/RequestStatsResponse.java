@@ -0,0 +1,27 @@
+package com.interactive.eserviceplatform.payload.response;
+
+import java.time.Instant;
+import java.util.Map;
+
+// DTO de réponse de GET /api/v1/requests/stats : nombre de demandes par statut et par type de document
+// reconciledAt = date du dernier recalage des compteurs sur la base (null avant le premier)
+public class RequestStatsResponse {
+    private final long total;
+    private final Map<String, Long> byStatus;
+    private final Map<String, Long> byDocumentType;
+    private final Instant reconciledAt;
+
+    public RequestStatsResponse(long total, Map<String, Long> byStatus, Map<String, Long> byDocumentType,
+                                Instant reconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byDocumentType = byDocumentType;
+        this.reconciledAt = reconciledAt;
+    }
+
+    // Getters (pas besoin de setters pour une réponse)
+    public long getTotal() { return total; }
+    public Map<String, Long> getByStatus() { return byStatus; }
+    public Map<String, Long> getByDocumentType() { return byDocumentType; }
+    public Instant getReconciledAt() { return reconciledAt; }
+}
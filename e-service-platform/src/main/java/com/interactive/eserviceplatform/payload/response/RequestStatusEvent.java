@@ -0,0 +1,29 @@
+package com.interactive.eserviceplatform.payload.response;
+
+import com.interactive.eserviceplatform.model.RequestStatus;
+
+import java.time.LocalDateTime;
+
+// Événement "request-status" du flux SSE (GET /api/v1/requests/events) : une demande a changé de statut
+public class RequestStatusEvent {
+    private final Long requestId;
+    private final Long userId;
+    private final RequestStatus from;
+    private final RequestStatus to;
+    private final LocalDateTime occurredAt;
+
+    public RequestStatusEvent(Long requestId, Long userId, RequestStatus from, RequestStatus to) {
+        this.requestId = requestId;
+        this.userId = userId;
+        this.from = from;
+        this.to = to;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters (pas besoin de setters pour une réponse)
+    public Long getRequestId() { return requestId; }
+    public Long getUserId() { return userId; }
+    public RequestStatus getFrom() { return from; }
+    public RequestStatus getTo() { return to; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
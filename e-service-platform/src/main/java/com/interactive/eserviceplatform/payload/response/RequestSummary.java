@@ -0,0 +1,35 @@
+package com.interactive.eserviceplatform.payload.response;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.RequestStatus;
+
+import java.time.LocalDateTime;
+
+// DTO de réponse des listes : uniquement les colonnes affichées par les écrans de liste
+// (construit directement par les requêtes de RequestRepository, sans passer par l'entité Request)
+public class RequestSummary {
+    private final Long id;
+    private final Long userId;
+    private final String title;
+    private final DocumentType documentType;
+    private final RequestStatus status;
+    private final LocalDateTime createdAt;
+
+    public RequestSummary(Long id, Long userId, String title, DocumentType documentType,
+                          RequestStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.documentType = documentType;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    // Getters (pas besoin de setters pour une réponse)
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getTitle() { return title; }
+    public DocumentType getDocumentType() { return documentType; }
+    public RequestStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,62 @@
+package com.interactive.eserviceplatform.repository;
+
+import com.interactive.eserviceplatform.exception.InvalidFilterRequestException;
+import com.interactive.eserviceplatform.payload.request.RequestFilter;
+
+/**
+ * Combinaisons de critères acceptées par le filtre multi-critères, et l'index qui sert chacune.
+ * Chaque plan commence par une égalité sur la première colonne de son index et lit les lignes dans l'ordre
+ * de l'index (clé de tri, id) : la page suivante reprend après le dernier élément (keyset), sans OFFSET ni tri.
+ * Une combinaison qu'aucun index ne sert (parcours complet de la table) est refusée (-> 400).
+ */
+public enum RequestFilterPlan {
+
+    // user_id = ? ; les autres critères ne filtrent que les demandes de cet utilisateur
+    USER_CREATED("idx_service_requests_user_created", "createdAt", true),
+    // status_code = ? et document_type_code = ? [et plage created_at]
+    STATUS_TYPE_CREATED("idx_service_requests_status_type_created", "createdAt", true),
+    // status_code = ? [et plage created_at]
+    STATUS_CREATED("idx_service_requests_status_created", "createdAt", true),
+    // status_code = ? et plage deadline, par échéance croissante
+    STATUS_DEADLINE("idx_service_requests_status_deadline", "deadline", false);
+
+    private final String index;
+    private final String sortKey;
+    private final boolean descending;
+
+    RequestFilterPlan(String index, String sortKey, boolean descending) {
+        this.index = index;
+        this.sortKey = sortKey;
+        this.descending = descending;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    // Attribut de Request sur lequel les résultats sont triés (puis par id), et qui sert de curseur
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public static RequestFilterPlan of(RequestFilter filter) {
+        if (filter.getUserId() != null) {
+            return USER_CREATED;
+        }
+        if (filter.getStatus() == null) {
+            throw new InvalidFilterRequestException("A filter must include userId or status.");
+        }
+        if (filter.hasDeadlineRange()) {
+            if (filter.getDocumentType() != null || filter.hasCreatedRange()) {
+                throw new InvalidFilterRequestException(
+                        "A deadline range can only be combined with status (and userId).");
+            }
+            return STATUS_DEADLINE;
+        }
+        return filter.getDocumentType() != null ? STATUS_TYPE_CREATED : STATUS_CREATED;
+    }
+}
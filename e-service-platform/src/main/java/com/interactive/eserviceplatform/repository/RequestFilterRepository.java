@@ -0,0 +1,22 @@
+package com.interactive.eserviceplatform.repository;
+
+import com.interactive.eserviceplatform.payload.request.RequestFilter;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Fragment de RequestRepository : requête construite à partir des critères présents (voir RequestFilterPlan)
+public interface RequestFilterRepository {
+
+    // Une ligne de résultat et la valeur de sa clé de tri (createdAt ou deadline, selon le plan), pour le curseur
+    record FilteredRow(RequestSummary summary, LocalDateTime sortKey) {
+    }
+
+    // Au plus "limit" lignes, après (afterKey, afterId) dans l'ordre du plan (première page : afterId null)
+    List<FilteredRow> findFiltered(RequestFilter filter, RequestFilterPlan plan,
+                                   LocalDateTime afterKey, Long afterId, int limit);
+
+    // Nombre de lignes correspondant aux critères, compté au plus jusqu'à "cap" (jamais de COUNT(*) complet)
+    int countFilteredUpTo(RequestFilter filter, RequestFilterPlan plan, int cap);
+}
@@ -0,0 +1,107 @@
+package com.interactive.eserviceplatform.repository;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.request.RequestFilter;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtre multi-critères : une seule requête JPQL, construite avec uniquement les critères fournis.
+ * Les prédicats sont toujours émis dans le même ordre (utilisateur, statut, type, plages, curseur),
+ * l'égalité sur la première colonne de l'index du plan en tête.
+ */
+public class RequestFilterRepositoryImpl implements RequestFilterRepository {
+
+    private final EntityManager entityManager;
+
+    public RequestFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<FilteredRow> findFiltered(RequestFilter filter, RequestFilterPlan plan,
+                                          LocalDateTime afterKey, Long afterId, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("select r.id, r.userId, r.title, r.documentType, r.status, r.createdAt, r.")
+                .append(plan.getSortKey()).append(" from Request r");
+        appendCriteria(jpql, filter, parameters);
+
+        String key = "r." + plan.getSortKey();
+        if (afterId != null) {
+            // Lignes strictement après le dernier élément de la page précédente, dans l'ordre de l'index
+            String comparison = plan.isDescending() ? " < " : " > ";
+            jpql.append(" and (").append(key).append(comparison).append(":afterKey or (")
+                    .append(key).append(" = :afterKey and r.id").append(comparison).append(":afterId))");
+            parameters.put("afterKey", afterKey);
+            parameters.put("afterId", afterId);
+        }
+        String direction = plan.isDescending() ? " desc" : "";
+        jpql.append(" order by ").append(key).append(direction).append(", r.id").append(direction);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(limit);
+
+        List<FilteredRow> rows = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            RequestSummary summary = new RequestSummary((Long) row[0], (Long) row[1], (String) row[2],
+                    (DocumentType) row[3], (RequestStatus) row[4], (LocalDateTime) row[5]);
+            rows.add(new FilteredRow(summary, (LocalDateTime) row[6]));
+        }
+        return rows;
+    }
+
+    // Ids seulement (lecture de l'index), arrêtée au plafond : coût borné quel que soit le nombre de lignes
+    @Override
+    public int countFilteredUpTo(RequestFilter filter, RequestFilterPlan plan, int cap) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("select r.id from Request r");
+        appendCriteria(jpql, filter, parameters);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(cap);
+        return query.getResultList().size();
+    }
+
+    private static void appendCriteria(StringBuilder jpql, RequestFilter filter, Map<String, Object> parameters) {
+        List<String> predicates = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            predicates.add("r.userId = :userId");
+            parameters.put("userId", filter.getUserId());
+        }
+        if (filter.getStatus() != null) {
+            predicates.add("r.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        if (filter.getDocumentType() != null) {
+            predicates.add("r.documentType = :documentType");
+            parameters.put("documentType", filter.getDocumentType());
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add("r.createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add("r.createdAt < :createdTo");
+            parameters.put("createdTo", filter.getCreatedTo());
+        }
+        if (filter.getDeadlineFrom() != null) {
+            predicates.add("r.deadline >= :deadlineFrom");
+            parameters.put("deadlineFrom", filter.getDeadlineFrom());
+        }
+        if (filter.getDeadlineTo() != null) {
+            predicates.add("r.deadline < :deadlineTo");
+            parameters.put("deadlineTo", filter.getDeadlineTo());
+        }
+        jpql.append(" where ").append(String.join(" and ", predicates));
+    }
+}
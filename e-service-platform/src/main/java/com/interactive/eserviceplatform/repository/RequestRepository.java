@@ -1,17 +1,163 @@
 package com.interactive.eserviceplatform.repository;
 
+import com.interactive.eserviceplatform.model.DocumentType;
 import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface RequestRepository extends JpaRepository<Request, Long> {
+public interface RequestRepository extends JpaRepository<Request, Long>, RequestFilterRepository {
     
     // Spring Data JPA génère automatiquement toutes les méthodes CRUD de base
     // (save, findById, findAll, delete) simplement en étendant JpaRepository.
 
     // Nous pouvons aussi ajouter des méthodes spécifiques ici.
-    // Par exemple, pour lister toutes les demandes d'un utilisateur :
+    // Par exemple, pour lister toutes les demandes (entités complètes) d'un utilisateur :
     List<Request> findAllByUserId(Long userId);
 
-    List<Request> findAllByStatus(String stauts);
-}
\ No newline at end of file
+    // --- Listes : projection RequestSummary ---
+    // Le SELECT ne lit que les colonnes affichées par les écrans de liste et construit directement le DTO :
+    // aucune entité gérée, rien dans le contexte de persistance. L'entité complète reste servie par GET /{id}.
+    String SUMMARY = "select new com.interactive.eserviceplatform.payload.response.RequestSummary("
+            + "r.id, r.userId, r.title, r.documentType, r.status, r.createdAt) from Request r";
+
+    // Listes non bornées : uniquement derrière l'option "all=true" des endpoints de liste
+    @Query(SUMMARY + " where r.userId = :userId order by r.createdAt desc, r.id desc")
+    List<RequestSummary> findAllSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY + " where r.status = :status order by r.createdAt desc, r.id desc")
+    List<RequestSummary> findAllSummariesByStatus(@Param("status") RequestStatus status);
+
+    // --- Pagination par curseur (keyset) sur (createdAt, id), du plus récent au plus ancien ---
+    // Première page : pas de curseur
+    @Query(SUMMARY + " where r.userId = :userId order by r.createdAt desc, r.id desc")
+    List<RequestSummary> findPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    // Pages suivantes : uniquement les lignes strictement "après" le dernier élément de la page précédente
+    @Query(SUMMARY + " where r.userId = :userId"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<RequestSummary> findPageByUserIdAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + " where r.status = :status order by r.createdAt desc, r.id desc")
+    List<RequestSummary> findPageByStatus(@Param("status") RequestStatus status, Limit limit);
+
+    @Query(SUMMARY + " where r.status = :status"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<RequestSummary> findPageByStatusAfter(@Param("status") RequestStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id, Limit limit);
+
+    // --- Export en flux ---
+    // Curseur en avant seulement : les lignes arrivent par paquets de EXPORT_FETCH_SIZE au lieu d'une liste complète.
+    // A consommer dans une transaction en lecture seule (sur PostgreSQL, le fetch size est ignoré en autocommit)
+    // et à fermer après usage (try-with-resources). Entités en lecture seule : pas d'instantané pour le dirty checking.
+    String EXPORT_FETCH_SIZE = "500";
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Request r where r.userId = :userId order by r.createdAt desc, r.id desc")
+    Stream<Request> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Request r where r.status = :status order by r.createdAt desc, r.id desc")
+    Stream<Request> streamByStatus(@Param("status") RequestStatus status);
+
+    // Page de résultats de la recherche plein texte : l'ordre (pertinence) est rétabli par l'appelant
+    @Query(SUMMARY + " where r.id in :ids")
+    List<RequestSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // --- Recherche plein texte (RequestSearchIndex) ---
+    // Chargement de l'index en mémoire : uniquement les colonnes indexées, parcours en flux par ordre d'id
+    interface SearchFieldsView {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        String getBirthPlace();
+        RequestStatus getStatus();
+        DocumentType getDocumentType();
+    }
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r.id as id, r.title as title, r.description as description, r.birthPlace as birthPlace,"
+            + " r.status as status, r.documentType as documentType from Request r order by r.id")
+    Stream<SearchFieldsView> streamSearchFields();
+
+    // --- Statistiques ---
+    // Une seule requête d'agrégat pour initialiser / recaler les compteurs de RequestStatsRegistry
+    interface StatusCountView {
+        RequestStatus getStatus();
+        DocumentType getDocumentType();
+        Long getTotal();
+    }
+
+    @Query("select r.status as status, r.documentType as documentType, count(r) as total"
+            + " from Request r group by r.status, r.documentType")
+    List<StatusCountView> countByStatusAndDocumentType();
+
+    // --- Échéances (RequestExpiryScheduler) ---
+    // Parcours de l'index (status_code, deadline) dans l'ordre des échéances, par pages (keyset sur deadline, id)
+    interface DeadlineView {
+        Long getId();
+        LocalDateTime getDeadline();
+    }
+
+    @Query("select r.id as id, r.deadline as deadline from Request r"
+            + " where r.status = :status and r.deadline <= :until order by r.deadline, r.id")
+    List<DeadlineView> findDeadlines(@Param("status") RequestStatus status, @Param("until") LocalDateTime until, Limit limit);
+
+    @Query("select r.id as id, r.deadline as deadline from Request r"
+            + " where r.status = :status and r.deadline <= :until"
+            + " and (r.deadline > :deadline or (r.deadline = :deadline and r.id > :id))"
+            + " order by r.deadline, r.id")
+    List<DeadlineView> findDeadlinesAfter(@Param("status") RequestStatus status, @Param("deadline") LocalDateTime deadline,
+                                          @Param("id") Long id, @Param("until") LocalDateTime until, Limit limit);
+
+    // --- Transitions de statut ---
+    // UPDATE conditionnel atomique : la base ne modifie la ligne que si elle est encore dans l'état attendu.
+    // Retourne 0 si la demande n'existe pas ou si une autre transition l'a déjà fait changer d'état.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Request r set r.status = :to, r.version = r.version + 1 where r.id = :id and r.status = :from")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("from") RequestStatus from, @Param("to") RequestStatus to);
+
+    // --- Transitions par lot ---
+    // Projection (id, statut, propriétaire) : pas d'entité complète chargée pour décider de l'issue de chaque id
+    interface StatusView {
+        Long getId();
+        RequestStatus getStatus();
+        Long getUserId();
+    }
+
+    // Verrouille les lignes du lot (dans l'ordre des ids, pour éviter les interblocages entre deux lots)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id as id, r.status as status, r.userId as userId from Request r where r.id in :ids order by r.id")
+    List<StatusView> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Un seul UPDATE pour tout le lot (mêmes garanties que updateStatusIfCurrent)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Request r set r.status = :to, r.version = r.version + 1 where r.id in :ids and r.status = :from")
+    int updateStatusIfCurrent(@Param("ids") Collection<Long> ids, @Param("from") RequestStatus from, @Param("to") RequestStatus to);
+}
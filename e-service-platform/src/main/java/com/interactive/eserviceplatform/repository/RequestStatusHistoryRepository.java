@@ -0,0 +1,13 @@
+package com.interactive.eserviceplatform.repository;
+
+import com.interactive.eserviceplatform.model.RequestStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+// Écritures : uniquement par lots, depuis StatusHistoryWriter (saveAll)
+public interface RequestStatusHistoryRepository extends JpaRepository<RequestStatusHistory, Long> {
+
+    // Historique d'une demande, du plus ancien au plus récent (index idx_status_history_request)
+    List<RequestStatusHistory> findAllByRequestIdOrderByOccurredAtAscIdAsc(Long requestId);
+}
@@ -1,14 +1,40 @@
 package com.interactive.eserviceplatform.repository;
 
 import com.interactive.eserviceplatform.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
  
     // Cette Query Method est cruciale pour Spring Security :
+    // résultat en cache de requêtes (invalidé à chaque écriture dans users), entité et rôles en cache de second niveau
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    // Projection compacte (id, version des jetons) pour le registre de révocation
+    interface TokenVersionView {
+        Long getId();
+        int getTokenVersion();
+    }
+
+    // Seuls les utilisateurs ayant déjà révoqué leurs jetons (version > 0) sont chargés
+    @Query("select u.id as id, u.tokenVersion as tokenVersion from User u where u.tokenVersion > 0")
+    List<TokenVersionView> findRevokedTokenVersions();
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
     
 }
\ No newline at end of file
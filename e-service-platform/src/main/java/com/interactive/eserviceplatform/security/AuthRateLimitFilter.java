@@ -0,0 +1,187 @@
+package com.interactive.eserviceplatform.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation de débit des POST /api/auth/** (login, signup, changement de mot de passe), appliquée avant
+ * toute vérification BCrypt et toute requête en base : seau par IP, seau par nom d'utilisateur (lu dans
+ * le corps JSON), puis plafond global de requêtes en cours. Un refus répond 429 avec Retry-After.
+ * L'IP est request.getRemoteAddr() (derrière un proxy : server.forward-headers-strategy).
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private final AuthRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final int retryAfterSeconds;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByUsername;
+    private final Counter rejectedByConcurrency;
+
+    public AuthRateLimitFilter(AuthRateLimiter limiter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               boolean enabled, int maxBodyBytes, int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejectedByIp = meterRegistry.counter("auth.ratelimit.rejected", "reason", "ip");
+        this.rejectedByUsername = meterRegistry.counter("auth.ratelimit.rejected", "reason", "username");
+        this.rejectedByConcurrency = meterRegistry.counter("auth.ratelimit.rejected", "reason", "concurrency");
+        meterRegistry.gauge("auth.inflight", limiter, AuthRateLimiter::inFlight);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + "/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // 1. Seau par IP (ne coûte rien : pas de lecture du corps)
+        long wait = limiter.tryAcquireIp(request.getRemoteAddr());
+        if (wait > 0) {
+            rejectedByIp.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter(wait), "Too many authentication attempts from this address.");
+            return;
+        }
+
+        // 2. Seau par nom d'utilisateur : le corps (borné) est lu ici puis rejoué vers le contrôleur
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, 0, "Authentication request body is too large.");
+            return;
+        }
+        String username = readUsername(body);
+        if (username != null) {
+            wait = limiter.tryAcquireUsername(username);
+            if (wait > 0) {
+                rejectedByUsername.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter(wait), "Too many authentication attempts for this user.");
+                return;
+            }
+        }
+
+        // 3. Plafond global de requêtes d'authentification en cours
+        if (!limiter.tryEnter()) {
+            rejectedByConcurrency.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds, "Too many authentication requests. Please retry shortly.");
+            return;
+        }
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+        } finally {
+            limiter.exit();
+        }
+    }
+
+    // Corps illisible ou sans "username" : seuls les seaux IP et le plafond global s'appliquent
+    private String readUsername(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long retryAfter(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    // Même format d'erreur que RestExceptionHandler : {"error": "..."}
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        if (retryAfterSeconds > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    // Rejoue le corps déjà lu (le flux d'origine ne peut être lu qu'une fois)
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
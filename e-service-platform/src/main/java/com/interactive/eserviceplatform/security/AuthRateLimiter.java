@@ -0,0 +1,107 @@
+package com.interactive.eserviceplatform.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contrôle d'admission des endpoints /api/auth (voir AuthRateLimitFilter) :
+ * - un seau de jetons par IP et un par nom d'utilisateur ;
+ * - un plafond global de requêtes d'authentification en cours.
+ *
+ * Les seaux vivent dans des tableaux de taille fixe (AtomicLongArray), indexés par le hash de la clé :
+ * la mémoire ne dépend pas du nombre de clés vues, même face à un flot d'IP ou de noms inventés.
+ * Deux clés qui tombent sur le même emplacement partagent leur seau (elles peuvent être limitées
+ * un peu plus tôt, jamais plus tard). Aucun verrou : chaque décision est un compareAndSet.
+ *
+ * Chaque emplacement stocke une seule valeur, "l'heure d'arrivée théorique" de l'algorithme GCRA
+ * (équivalent à un seau de jetons de capacité burst rechargé d'un jeton toutes les interval nanosecondes).
+ */
+public class AuthRateLimiter {
+
+    private final BucketTable ipBuckets;
+    private final BucketTable usernameBuckets;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxConcurrent;
+    // Origine des temps : garde les heures d'arrivée positives (0 = emplacement jamais utilisé)
+    private final long origin = System.nanoTime();
+
+    public AuthRateLimiter(int slots, int ipBurst, int ipPerMinute, int usernameBurst, int usernamePerMinute,
+                           int maxConcurrent) {
+        this.ipBuckets = new BucketTable(slots, ipBurst, ipPerMinute);
+        this.usernameBuckets = new BucketTable(slots, usernameBurst, usernamePerMinute);
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    // Retourne 0 si la requête est admise, sinon le temps d'attente (ns) avant le prochain jeton
+    public long tryAcquireIp(String ip) {
+        return ipBuckets.tryAcquire(ip, now());
+    }
+
+    public long tryAcquireUsername(String username) {
+        return usernameBuckets.tryAcquire(username, now());
+    }
+
+    // Plafond global : false si maxConcurrent requêtes d'authentification sont déjà en cours
+    public boolean tryEnter() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private long now() {
+        return System.nanoTime() - origin + 1;
+    }
+
+    private static final class BucketTable {
+
+        private final AtomicLongArray theoreticalArrival;
+        private final int mask;
+        private final int seed = ThreadLocalRandom.current().nextInt();
+        private final long interval;
+        private final long burstTolerance;
+
+        BucketTable(int slots, int burst, int perMinute) {
+            // Arrondi à la puissance de 2 supérieure : l'index est un simple masque
+            int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+            this.theoreticalArrival = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.interval = 60_000_000_000L / Math.max(1, perMinute);
+            this.burstTolerance = (long) Math.max(1, burst) * interval;
+        }
+
+        long tryAcquire(String key, long now) {
+            int slot = index(key);
+            while (true) {
+                long tat = theoreticalArrival.get(slot);
+                long newTat = Math.max(tat, now) + interval;
+                long allowedAt = newTat - burstTolerance;
+                if (allowedAt > now) {
+                    return allowedAt - now;
+                }
+                if (theoreticalArrival.compareAndSet(slot, tat, newTat)) {
+                    return 0;
+                }
+            }
+        }
+
+        // Graine aléatoire par instance : les emplacements ne sont pas prévisibles d'un démarrage à l'autre
+        private int index(String key) {
+            int h = (key.hashCode() ^ seed) * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.interactive.eserviceplatform.security;
+
+import com.interactive.eserviceplatform.model.Role;
+import com.interactive.eserviceplatform.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registre en mémoire des rôles (ROLE_USER, ROLE_ADMIN...) : une table minuscule et quasi immuable.
+ * La carte est immuable et remplacée d'un bloc à chaque rechargement : les lectures (inscription,
+ * changement de rôles) ne prennent aucun verrou et n'exécutent aucune requête.
+ * Les rôles renvoyés sont détachés : ils servent uniquement de référence (user_roles.role_id).
+ */
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<String, Role> rolesByName = Map.of();
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    public Optional<Role> find(String name) {
+        return Optional.ofNullable(rolesByName.get(name));
+    }
+
+    /**
+     * Crée le rôle s'il n'existe pas encore (DataInitializer).
+     * Le registre est rechargé après le commit, pour ne jamais exposer un rôle qui n'existe pas en base.
+     */
+    @Transactional
+    public Role findOrCreate(String name) {
+        Role role = rolesByName.get(name);
+        if (role != null) {
+            return role;
+        }
+        Role created = roleRepository.findByName(name).orElseGet(() -> roleRepository.save(new Role(name)));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+        return created;
+    }
+
+    // Chargement au démarrage, puis rechargement périodique (rôles ajoutés par une autre instance)
+    @PostConstruct
+    @Scheduled(initialDelayString = "${security.roles.refresh-interval-ms:300000}",
+            fixedDelayString = "${security.roles.refresh-interval-ms:300000}")
+    public void refresh() {
+        rolesByName = roleRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+    }
+}
@@ -10,19 +10,27 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+// Instantané immuable : peut être partagé entre requêtes via le cache de UserDetailsServiceImpl
 public class UserDetailsImpl implements UserDetails {
 
-    private Long id;
-    private String username;
+    private final Long id;
+    private final String username;
     @JsonIgnore // Pour ne pas exposer le mot de passe dans les réponses JSON
-    private String password;
-    private Collection<? extends GrantedAuthority> authorities;
+    private final String password;
+    private final Collection<? extends GrantedAuthority> authorities;
+    @JsonIgnore
+    private final int tokenVersion;
 
     public UserDetailsImpl(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, password, authorities, 0);
+    }
+
+    public UserDetailsImpl(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities, int tokenVersion) {
         this.id = id;
         this.username = username;
         this.password = password;
-        this.authorities = authorities;
+        this.authorities = List.copyOf(authorities);
+        this.tokenVersion = tokenVersion;
     }
 
     public static UserDetailsImpl build(User user) {
@@ -35,7 +43,17 @@ public class UserDetailsImpl implements UserDetails {
                 user.getId(),
                 user.getUsername(),
                 user.getPassword(),
-                authorities);
+                authorities,
+                user.getTokenVersion());
+    }
+
+    // Mode "claims-only" : principal reconstruit à partir du jeton, sans accès à la base (pas de mot de passe)
+    public static UserDetailsImpl fromClaims(Long id, String username, List<String> roles, int tokenVersion) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(id, username, null, authorities, tokenVersion);
     }
     
     // -- Getters et méthodes implémentées par défaut de UserDetails --
@@ -55,11 +73,14 @@ public class UserDetailsImpl implements UserDetails {
         return username;
     }
 
-    @Override
     public Long getId() {
         return id;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     // Nous mettons toutes ces méthodes à 'true' car notre système ne gère pas ces états
     @Override
     public boolean isAccountNonExpired() {
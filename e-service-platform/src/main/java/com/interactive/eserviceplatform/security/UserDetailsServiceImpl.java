@@ -1,37 +1,111 @@
 package com.interactive.eserviceplatform.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.interactive.eserviceplatform.model.User;
 import com.interactive.eserviceplatform.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    // Cache borné (éviction W-TinyLFU de Caffeine + TTL) des instantanés UserDetailsImpl, indexé par username.
+    // Les utilisateurs inconnus ne sont pas mis en cache (l'exception traverse le chargement).
+    private final Cache<String, UserDetailsImpl> userCache;
+
+    // Durée d'une recherche d'utilisateur, cache compris (le chargement en base seul : cache.load.duration)
+    private final Timer lookupTimer;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  @Value("${security.user-cache.max-size:10000}") long maxSize,
+                                  @Value("${security.user-cache.ttl:PT10M}") Duration ttl,
+                                  MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Expose hit ratio, évictions et durée des chargements (cache.load.duration)
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "users.details");
+        this.lookupTimer = Timer.builder("security.user.lookup")
+                .description("UserDetails lookups (login and database mode of the JWT filter)")
+                .register(meterRegistry);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long start = System.nanoTime();
+        try {
+            return userCache.get(username, this::loadFromRepository);
+        } finally {
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Retire l'utilisateur du cache. A appeler à chaque modification du compte
+     * (inscription, mot de passe, rôles, révocation des jetons).
+     * Dans une transaction, l'entrée est aussi retirée après le commit, pour qu'une lecture
+     * concurrente ne remette pas en cache l'état d'avant la modification.
+     */
+    public void evict(String username) {
+        userCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userCache.invalidate(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Met en cache l'instantané d'un compte qui vient d'être créé (inscription) : la première connexion
+     * ne relit ni l'utilisateur ni ses rôles. Dans une transaction, l'entrée n'est posée qu'après le commit
+     * (et retirée en cas de rollback).
+     */
+    public void cacheAfterCommit(UserDetailsImpl userDetails) {
+        String username = userDetails.getUsername();
+        userCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        userCache.put(username, userDetails);
+                    } else {
+                        userCache.invalidate(username);
+                    }
+                }
+            });
+        } else {
+            userCache.put(username, userDetails);
+        }
+    }
+
+    private UserDetailsImpl loadFromRepository(String username) {
         // 1. Tente de récupérer l'utilisateur depuis la base de données
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
-        
-        // 2. Convertit les Rôles de l'utilisateur en objets SimpleGrantedAuthority pour Spring Security
-        // C'est cette conversion qui permet à Spring Security de gérer les permissions.
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getRoles().stream()
-                    .map(role -> new org.springframework.security.core.authority.SimpleGrantedAuthority(role.getName()))
-                    .collect(Collectors.toList())
-        );
+
+        // 2. Convertit l'utilisateur (et ses Rôles) en UserDetailsImpl : c'est le type de principal
+        // attendu par AuthController et JwtUtils (id et version des jetons inclus dans le JWT).
+        return UserDetailsImpl.build(user);
     }
-}
\ No newline at end of file
+}
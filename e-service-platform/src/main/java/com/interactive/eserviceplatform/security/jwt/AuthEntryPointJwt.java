@@ -1,5 +1,7 @@
 package com.interactive.eserviceplatform.security.jwt;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,12 +18,21 @@ import java.io.IOException;
 @Component
 public class AuthEntryPointJwt implements AuthenticationEntryPoint {
 
+    // Réponses 401 (auth.unauthorized), à suivre plutôt qu'une ligne de log par requête refusée
+    private final Counter unauthorized;
+
+    public AuthEntryPointJwt(MeterRegistry meterRegistry) {
+        this.unauthorized = Counter.builder("auth.unauthorized")
+                .description("Requests rejected with 401 because no valid authentication was provided")
+                .register(meterRegistry);
+    }
+
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
                          AuthenticationException authException) throws IOException, ServletException {
         
-        // Journalise l'erreur d'authentification
-        System.err.println("Unauthorized error: " + authException.getMessage());
+        // Compte l'erreur d'authentification
+        unauthorized.increment();
 
         // Définit le type de contenu de la réponse comme JSON
         response.setContentType("application/json");
@@ -1,14 +1,16 @@
 package com.interactive.eserviceplatform.security.jwt;
 
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
 import com.interactive.eserviceplatform.security.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,6 +25,17 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Mode "claims-only" : l'Authentication est construite à partir des claims du jeton (sujet, uid, rôles),
+    // sans aucun accès à la base. La révocation est assurée par TokenVersionRegistry.
+    @Value("${security.jwt.claims-only:false}")
+    private boolean claimsOnly;
+
     // Méthode pour extraire le jeton de l'en-tête Authorization
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
@@ -41,15 +54,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             // 1. Tente d'extraire le jeton de la requête
             String jwt = parseJwt(request);
 
-            // 2. Si le jeton existe et est valide :
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                
-                // a. Récupérer le nom d'utilisateur
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            // 2. Si le jeton existe et est valide (vérifié une seule fois, claims mis en cache) :
+            VerifiedJwt verifiedJwt = jwt != null ? jwtUtils.verifyJwtToken(jwt).orElse(null) : null;
 
-                // b. Charger les détails de l'utilisateur et de ses rôles (via le service)
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // a. Récupérer le principal : depuis les claims (mode claims-only) ou depuis la base
+            UserDetailsImpl userDetails = verifiedJwt != null ? resolvePrincipal(verifiedJwt) : null;
 
+            if (userDetails != null) {
                 // c. Créer l'objet d'authentification pour la requête
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -60,11 +71,27 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            // Loggez l'erreur et laissez la requête continuer non authentifiée
-            System.err.println("Cannot set user authentication: " + e.getMessage());
+            // Comptez l'erreur et laissez la requête continuer non authentifiée
+            meterRegistry.counter("auth.filter.errors", "exception", e.getClass().getSimpleName()).increment();
         }
 
         // Laisse la requête passer au filtre suivant (ou au Controller)
         filterChain.doFilter(request, response);
     }
+
+    // Retourne null si le jeton a été révoqué (version de jeton périmée)
+    private UserDetailsImpl resolvePrincipal(VerifiedJwt verifiedJwt) {
+        // Les jetons émis avant l'ajout du claim "uid" passent toujours par la base
+        if (claimsOnly && verifiedJwt.userId() != null) {
+            if (!tokenVersionRegistry.isCurrent(verifiedJwt.userId(), verifiedJwt.tokenVersion())) {
+                return null;
+            }
+            return UserDetailsImpl.fromClaims(verifiedJwt.userId(), verifiedJwt.username(),
+                    verifiedJwt.roles(), verifiedJwt.tokenVersion());
+        }
+
+        // b. Charger les détails de l'utilisateur et de ses rôles (via le service)
+        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(verifiedJwt.username());
+        return verifiedJwt.tokenVersion() >= userDetails.getTokenVersion() ? userDetails : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.interactive.eserviceplatform.security.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Vérifications préalables d'un jeton, avant jjwt, sans lever d'exception : un jeton refusé
+ * (robot, jeton expiré, jeton forgé) ne coûte ni construction d'exception ni pile d'appels.
+ * Ordre : forme (3 segments base64url, en-tête HS512), puis expiration (lue dans le payload,
+ * avant tout calcul cryptographique), puis signature HMAC-SHA512 comparée en temps constant.
+ * Seuls les jetons qui passent tout sont ensuite parsés par jjwt.
+ */
+final class JwtPreVerifier {
+
+    // Seul en-tête produit par JwtUtils.generateJwtToken : {"alg":"HS512"}
+    static final String HS512_HEADER = "eyJhbGciOiJIUzUxMiJ9";
+    private static final int MAX_TOKEN_LENGTH = 8192;
+    // Signature HS512 : 64 octets -> 86 caractères base64url sans remplissage
+    private static final int SIGNATURE_LENGTH = 86;
+    private static final byte[] EXP_CLAIM = "\"exp\":".getBytes(StandardCharsets.US_ASCII);
+
+    private final ThreadLocal<Mac> mac;
+
+    JwtPreVerifier(byte[] keyBytes) {
+        SecretKeySpec key = new SecretKeySpec(keyBytes, "HmacSHA512");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac hmac = Mac.getInstance("HmacSHA512");
+                hmac.init(key);
+                return hmac;
+            } catch (GeneralSecurityException e) {
+                // HmacSHA512 est disponible sur toute JVM
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // Forme du jeton uniquement (aucun décodage) : null si elle est correcte
+    JwtRejection checkShape(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return JwtRejection.MALFORMED;
+        }
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return JwtRejection.MALFORMED;
+                }
+            } else if (!isBase64Url(c)) {
+                return JwtRejection.MALFORMED;
+            }
+        }
+        if (secondDot < 0 || secondDot == firstDot + 1 || !validBase64Length(secondDot - firstDot - 1)) {
+            return JwtRejection.MALFORMED;
+        }
+        if (!token.startsWith(HS512_HEADER) || firstDot != HS512_HEADER.length()) {
+            return JwtRejection.ALGORITHM;
+        }
+        if (token.length() - secondDot - 1 != SIGNATURE_LENGTH) {
+            return JwtRejection.SIGNATURE;
+        }
+        return null;
+    }
+
+    // Expiration puis signature, pour un jeton dont la forme a été vérifiée : null si le jeton est valide
+    JwtRejection checkExpiryAndSignature(String token, long nowMillis) {
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot));
+        long exp = readExp(payload);
+        if (exp < 0) {
+            return JwtRejection.MALFORMED;
+        }
+        if (nowMillis > exp * 1000) {
+            return JwtRejection.EXPIRED;
+        }
+
+        byte[] expected = mac.get().doFinal(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+        byte[] actual = Base64.getUrlDecoder().decode(token.substring(secondDot + 1));
+        return MessageDigest.isEqual(expected, actual) ? null : JwtRejection.SIGNATURE;
+    }
+
+    // Valeur numérique du claim "exp" (secondes), ou -1 si absente : simple balayage, pas de parseur JSON
+    private static long readExp(byte[] payload) {
+        outer:
+        for (int i = 0; i <= payload.length - EXP_CLAIM.length; i++) {
+            for (int j = 0; j < EXP_CLAIM.length; j++) {
+                if (payload[i + j] != EXP_CLAIM[j]) {
+                    continue outer;
+                }
+            }
+            long value = 0;
+            int digits = 0;
+            for (int k = i + EXP_CLAIM.length; k < payload.length && digits < 18; k++, digits++) {
+                byte b = payload[k];
+                if (b < '0' || b > '9') {
+                    break;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return digits == 0 ? -1 : value;
+        }
+        return -1;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
+    // Une longueur de 4n + 1 caractères n'est pas du base64 valide (le décodeur lèverait une exception)
+    private static boolean validBase64Length(int length) {
+        return length % 4 != 1;
+    }
+}
@@ -0,0 +1,14 @@
+package com.interactive.eserviceplatform.security.jwt;
+
+// Motifs de refus d'un jeton (tag "reason" de jwt.rejected)
+public enum JwtRejection {
+    MALFORMED,   // pas trois segments base64url, trop long, claim "exp" absent
+    ALGORITHM,   // en-tête différent de celui des jetons émis par l'application (HS512)
+    EXPIRED,
+    SIGNATURE,
+    OTHER;       // refusé par jjwt malgré les vérifications préalables
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
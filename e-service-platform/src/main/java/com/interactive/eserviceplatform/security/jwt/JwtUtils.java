@@ -1,72 +1,205 @@
 package com.interactive.eserviceplatform.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import com.interactive.eserviceplatform.security.UserDetailsImpl; // Le service d'utilisateur que nous avons créé
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
 
-    // Injecte la clé secrète depuis application.properties
-    // ATTENTION : Cette clé DOIT être sécurisée et longue (256 bits minimum)
-    @Value("${security.jwt.secret}")
-    private String jwtSecret;
+    // Noms des claims utilisés par le mode "claims-only" (voir AuthTokenFilter)
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    // Clé de signature et parseur construits UNE SEULE FOIS (tous deux immuables et thread-safe)
+    private final Key signingKey;
+    private final JwtParser jwtParser;
 
     // Durée de validité du jeton (en millisecondes, ex: 86400000 = 24 heures)
-    @Value("${security.jwt.expiration}")
-    private int jwtExpirationMs;
-    
+    private final int jwtExpirationMs;
+
+    // Cache des jetons déjà vérifiés, indexé par l'empreinte SHA-256 du jeton :
+    // un porteur qui revient évite le parsing et la vérification HMAC-SHA512.
+    private final Cache<String, VerifiedJwt> verifiedTokens;
+
+    // Vérifications préalables sans exception (forme, expiration, signature) et journal des refus
+    private final JwtPreVerifier preVerifier;
+    private final TokenRejectionLog rejectionLog;
+
+    // Vérifications complètes (hors cache)
+    private final Timer verificationTimer;
+
+    // La clé secrète DOIT être sécurisée et longue (512 bits minimum pour HS512)
+    public JwtUtils(@Value("${security.jwt.secret}") String jwtSecret,
+                    @Value("${security.jwt.expiration}") int jwtExpirationMs,
+                    @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize,
+                    @Value("${security.jwt.cache.max-ttl:PT5M}") Duration cacheMaxTtl,
+                    MeterRegistry meterRegistry,
+                    TokenRejectionLog rejectionLog) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.preVerifier = new JwtPreVerifier(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.rejectionLog = rejectionLog;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheMaxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Full JWT parsing and signature verification (cache misses only)")
+                .register(meterRegistry);
+    }
+
     // 1. Méthode pour générer le jeton
     public String generateJwtToken(Authentication authentication) {
-        
+
         // Récupère les détails de l'utilisateur principal (objet standard de Spring Security)
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
-        
+
         // Récupérer les rôles de l'utilisateur pour les inclure dans le jeton
         List<String> roles = userPrincipal.getAuthorities().stream()
             .map(item -> item.getAuthority())
             .collect(Collectors.toList());
 
-        // Clé de signature (générée à partir de la clé secrète dans application.properties)
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
         // Construction et signature du jeton JWT
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername())) // Sujet : le nom de l'utilisateur
-                .claim("roles", roles) // Ajout des rôles dans les claims
+                .claim(ROLES_CLAIM, roles) // Ajout des rôles dans les claims
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .claim(TOKEN_VERSION_CLAIM, userPrincipal.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key, SignatureAlgorithm.HS512) // Signature avec la clé secrète et l'algorithme HS512
+                .signWith(signingKey, SignatureAlgorithm.HS512) // Signature avec la clé secrète et l'algorithme HS512
                 .compact();
     }
-    
+
     // --- Les méthodes de validation (nécessaires pour le filtre) ---
-    
+
+    /**
+     * Vérifie le jeton (signature, expiration) et retourne ses claims typés.
+     * Le jeton n'est parsé qu'une fois : les appels suivants avec le même jeton
+     * sont servis par le cache jusqu'à son expiration.
+     *
+     * @return les claims vérifiés, ou Optional.empty() si le jeton est invalide
+     */
+    public Optional<VerifiedJwt> verifyJwtToken(String authToken) {
+        // 1. Forme du jeton : un jeton illisible est refusé avant même le calcul de l'empreinte
+        JwtRejection rejection = preVerifier.checkShape(authToken);
+        if (rejection != null) {
+            return reject(rejection);
+        }
+        String digest = digest(authToken);
+        VerifiedJwt cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long start = System.nanoTime();
+        try {
+            // 2. Expiration puis signature, sans exception (voir JwtPreVerifier)
+            rejection = preVerifier.checkExpiryAndSignature(authToken, System.currentTimeMillis());
+            if (rejection != null) {
+                return reject(rejection);
+            }
+            // 3. Jeton authentique et non expiré : jjwt ne sert plus qu'à lire les claims
+            VerifiedJwt verified = toVerifiedJwt(jwtParser.parseClaimsJws(authToken).getBody());
+            verifiedTokens.put(digest, verified);
+            return Optional.of(verified);
+        } catch (Exception e) {
+            return reject(JwtRejection.OTHER);
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
     // Méthode pour extraire le nom d'utilisateur du jeton
     public String getUserNameFromJwtToken(String token) {
-        // Parse le jeton et retourne le sujet (qui est le nom d'utilisateur)
-        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes())).build()
-            .parseClaimsJws(token).getBody().getSubject();
+        return verifyJwtToken(token)
+                .map(VerifiedJwt::username)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid JWT token"));
     }
 
     // Méthode pour valider l'intégrité du jeton (signature, expiration)
     public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken).isPresent();
+    }
+
+    // Compteur jwt.rejected{reason} + ligne de journal agrégée, écrite plus tard par TokenRejectionLog
+    private Optional<VerifiedJwt> reject(JwtRejection rejection) {
+        rejectionLog.record(rejection);
+        return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VerifiedJwt toVerifiedJwt(Claims claims) {
+        List<String> roles = claims.get(ROLES_CLAIM, List.class);
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return new VerifiedJwt(claims.getSubject(), userId, roles,
+                tokenVersion != null ? tokenVersion : 0, claims.getExpiration().toInstant());
+    }
+
+    // Empreinte du jeton : évite de garder les jetons bruts en mémoire comme clés du cache
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes())).build().parseClaimsJws(authToken);
-            return true;
-        } catch (Exception e) {
-            // Loggez l'erreur pour le débogage (signature invalide, jeton expiré, etc.)
-            System.err.println("JWT Validation Error: " + e.getMessage());
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 est obligatoire sur toute JVM
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Une entrée expire avec son jeton, sans dépasser la durée maximale configurée
+    private static final class TokenExpiry implements Expiry<String, VerifiedJwt> {
+
+        private final long maxTtlNanos;
+
+        TokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedJwt value, long currentTime) {
+            long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
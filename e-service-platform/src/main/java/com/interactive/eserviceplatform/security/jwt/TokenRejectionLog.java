@@ -0,0 +1,64 @@
+package com.interactive.eserviceplatform.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Journal des jetons refusés. Sur le chemin des requêtes : un compteur (jwt.rejected{reason}) et
+ * un LongAdder, rien d'autre. L'écriture est faite par le planificateur, au plus une ligne
+ * par motif et par intervalle : une vague de robots ne sature ni les journaux ni les threads Tomcat.
+ * Les lignes passent par SLF4J avec des paires clé/valeur (event, reason, count, windowSeconds) :
+ * le format structuré (JSON) et l'envoi asynchrone relèvent de la configuration des appenders.
+ */
+@Component
+public class TokenRejectionLog {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRejectionLog.class);
+
+    private final Map<JwtRejection, Counter> counters = new EnumMap<>(JwtRejection.class);
+    private final Map<JwtRejection, LongAdder> sinceLastFlush = new EnumMap<>(JwtRejection.class);
+    private volatile long windowStart = System.currentTimeMillis();
+
+    public TokenRejectionLog(MeterRegistry meterRegistry) {
+        // Maps remplies une fois pour toutes : elles ne sont ensuite que lues (thread-safe)
+        for (JwtRejection reason : JwtRejection.values()) {
+            counters.put(reason, Counter.builder("jwt.rejected")
+                    .description("Bearer tokens rejected, by reason")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+            sinceLastFlush.put(reason, new LongAdder());
+        }
+    }
+
+    public void record(JwtRejection reason) {
+        counters.get(reason).increment();
+        sinceLastFlush.get(reason).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.rejection-log.interval-ms:60000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        long windowSeconds = Math.max(1, (now - windowStart) / 1000);
+        windowStart = now;
+        for (Map.Entry<JwtRejection, LongAdder> entry : sinceLastFlush.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                log.atWarn()
+                        .addKeyValue("event", "jwt.rejected")
+                        .addKeyValue("reason", entry.getKey().tag())
+                        .addKeyValue("count", count)
+                        .addKeyValue("windowSeconds", windowSeconds)
+                        .log("Bearer tokens rejected: reason={} count={} windowSeconds={}",
+                                entry.getKey().tag(), count, windowSeconds);
+            }
+        }
+    }
+}
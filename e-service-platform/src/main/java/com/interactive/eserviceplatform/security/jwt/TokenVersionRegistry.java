@@ -0,0 +1,70 @@
+package com.interactive.eserviceplatform.security.jwt;
+
+import com.interactive.eserviceplatform.exception.ResourceNotFoundException;
+import com.interactive.eserviceplatform.repository.UserRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre en mémoire des versions de jetons par utilisateur (révocation en mode "claims-only").
+ * Un JWT dont le claim "ver" est inférieur à la version connue de son utilisateur est refusé.
+ * Seuls les utilisateurs ayant déjà révoqué leurs jetons sont gardés en mémoire ; le registre
+ * se rafraîchit périodiquement depuis la base pour voir les révocations faites par d'autres instances.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    // userId -> version courante des jetons (absent = 0)
+    private final ConcurrentHashMap<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // Le jeton est-il toujours valide vis-à-vis des révocations connues ?
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Révoque tous les jetons déjà émis pour cet utilisateur (déconnexion globale,
+     * changement de mot de passe ou de rôles).
+     * La nouvelle version n'est retenue en mémoire qu'après le commit : après un rollback, la base
+     * n'a pas changé et les jetons émis ensuite ne doivent pas être refusés.
+     *
+     * @return la nouvelle version, à inclure dans les prochains jetons
+     */
+    @Transactional
+    public int revokeAllTokens(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
+        int version = userRepository.findTokenVersionById(userId).orElse(0);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(userId, version, Math::max);
+                }
+            });
+        } else {
+            versions.merge(userId, version, Math::max);
+        }
+        return version;
+    }
+
+    // Rafraîchissement périodique (les versions ne font qu'augmenter : on garde le maximum)
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        for (UserRepository.TokenVersionView view : userRepository.findRevokedTokenVersions()) {
+            versions.merge(view.getId(), view.getTokenVersion(), Math::max);
+        }
+    }
+}
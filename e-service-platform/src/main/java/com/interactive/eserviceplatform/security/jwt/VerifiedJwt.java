@@ -0,0 +1,16 @@
+package com.interactive.eserviceplatform.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims typés d'un jeton JWT dont la signature et l'expiration ont déjà été vérifiées.
+ * Objet immuable : il peut être partagé entre requêtes via le cache de JwtUtils.
+ * userId est null pour les jetons émis avant l'ajout du claim "uid".
+ */
+public record VerifiedJwt(String username, Long userId, List<String> roles, int tokenVersion, Instant expiresAt) {
+
+    public VerifiedJwt {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
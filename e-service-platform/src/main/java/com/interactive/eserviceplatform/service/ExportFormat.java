@@ -0,0 +1,29 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.UnsupportedExportFormatException;
+
+// Formats de l'export en flux : une ligne par demande, écrite dès qu'elle est lue
+public enum ExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    // Accepte "ndjson" / "csv" sans tenir compte de la casse
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new UnsupportedExportFormatException("Unknown export format: " + value + " (expected ndjson or csv)");
+    }
+}
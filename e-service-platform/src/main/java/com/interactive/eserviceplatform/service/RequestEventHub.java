@@ -0,0 +1,199 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.RequestStatusEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion en mémoire (fan-out) des changements de statut vers les abonnés SSE.
+ *
+ * Un abonné SSE n'occupe aucun thread tant qu'il n'y a rien à lui envoyer (requête servlet asynchrone) :
+ * chaque abonné a un tampon borné, vidé par l'exécuteur partagé "requestEventDispatcher"
+ * (petit pool de threads plateforme, ou threads virtuels : voir ThreadingConfiguration). Un abonné dont le tampon
+ * est plein (client trop lent ou connexion morte) est déconnecté ; le client se reconnecte et recharge
+ * sa liste. Un commentaire "heartbeat" est envoyé périodiquement pour garder la connexion ouverte
+ * à travers les proxys et détecter les clients partis.
+ *
+ * Routage : un utilisateur reçoit les changements de ses propres demandes ; un ADMIN reçoit en plus
+ * les entrées et sorties de la file SUBMITTED.
+ */
+@Component
+public class RequestEventHub {
+
+    public static final String STATUS_EVENT = "request-status";
+
+    private final Duration timeout;
+    private final int bufferSize;
+    private final Executor dispatcher;
+    private final Counter droppedSubscribers;
+
+    // Index des abonnés par utilisateur, et abonnés ADMIN
+    private final ConcurrentHashMap<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> admins = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public RequestEventHub(MeterRegistry meterRegistry,
+                           @Qualifier("requestEventDispatcher") Executor dispatcher,
+                           @Value("${requests.events.timeout:PT30M}") Duration timeout,
+                           @Value("${requests.events.buffer-size:64}") int bufferSize) {
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.dispatcher = dispatcher;
+        this.droppedSubscribers = Counter.builder("requests.events.dropped")
+                .description("SSE subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("requests.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open SSE subscriptions")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, boolean admin) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, userId, new ArrayBlockingQueue<>(bufferSize));
+        byUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        if (admin) {
+            admins.add(subscriber);
+        }
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // Premier envoi : valide la connexion (en-têtes envoyés) sans attendre le premier événement
+        subscriber.enqueue(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    // Publie les changements après le commit de la transaction en cours (rien n'est diffusé en cas de rollback)
+    public void publish(List<RequestStatusEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(events);
+                }
+            });
+        } else {
+            dispatch(events);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${requests.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        byUser.values().forEach(subscribers -> subscribers.forEach(
+                subscriber -> subscriber.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        byUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void dispatch(List<RequestStatusEvent> events) {
+        for (RequestStatusEvent event : events) {
+            Set<Subscriber> owners = byUser.get(event.getUserId());
+            if (owners != null) {
+                owners.forEach(subscriber -> subscriber.enqueue(toSse(event)));
+            }
+            if (event.getFrom() == RequestStatus.SUBMITTED || event.getTo() == RequestStatus.SUBMITTED) {
+                for (Subscriber admin : admins) {
+                    // Un ADMIN propriétaire de la demande l'a déjà reçue ci-dessus
+                    if (!admin.userId.equals(event.getUserId())) {
+                        admin.enqueue(toSse(event));
+                    }
+                }
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(RequestStatusEvent event) {
+        return SseEmitter.event()
+                .name(STATUS_EVENT)
+                .id(event.getRequestId() + "-" + event.getTo())
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            byUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            admins.remove(subscriber);
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        // Une seule tâche de vidage planifiée à la fois par abonné (les envois restent ordonnés)
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Long userId, BlockingQueue<SseEmitter.SseEventBuilder> buffer) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.buffer = buffer;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Client trop lent : on le déconnecte plutôt que de bloquer ou de grossir sans limite
+                droppedSubscribers.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (Exception e) {
+                        // Connexion fermée côté client : l'abonnement est terminé
+                        remove(this);
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // Un événement arrivé entre le dernier poll et draining=false doit quand même partir
+            } while (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
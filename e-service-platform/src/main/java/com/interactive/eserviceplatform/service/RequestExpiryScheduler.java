@@ -0,0 +1,164 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.BulkTransitionResponse;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moteur d'échéances : passe en EXPIRED les demandes SUBMITTED dont la deadline est dépassée.
+ *
+ * Les échéances à venir (jusqu'à now + horizon) sont gardées dans un tas trié par (deadline, id),
+ * chargé par pages depuis l'index (status_code, deadline) : une vérification par seconde ne coûte
+ * qu'un peek sur le tas, quelle que soit la taille de la table. Les échéances atteintes sont
+ * expirées par lots via RequestService.expireRequests (UPDATE conditionnel : une demande déjà
+ * traitée, ou déjà expirée par une autre instance, est simplement ignorée).
+ *
+ * Rien n'est persisté en dehors de la table : après un redémarrage, le premier rechargement expire
+ * d'abord les demandes déjà échues puis reconstruit le tas. Les demandes soumises avec une deadline
+ * déjà couverte par le tas (ou quand le tas est plein) sont rattrapées par ce même balayage des
+ * demandes échues, au plus tard un intervalle de rechargement après leur échéance.
+ */
+@Component
+public class RequestExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestExpiryScheduler.class);
+
+    private final RequestRepository requestRepository;
+    private final RequestService requestService;
+    private final Duration horizon;
+    private final int maxPending;
+    private final int batchSize;
+    private final Counter expiredRequests;
+
+    // Verrou du tas et du watermark. Pas de synchronized : le chargement fait des requêtes JDBC
+    // sous ce verrou, ce qui épinglerait le thread porteur en mode threads virtuels.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Tas (min-heap) des échéances chargées
+    private final PriorityQueue<PendingDeadline> pending =
+            new PriorityQueue<>(Comparator.comparing(PendingDeadline::deadline).thenComparing(PendingDeadline::id));
+
+    // Dernière échéance (deadline, id) chargée depuis la base : le prochain chargement reprend après elle
+    private PendingDeadline watermark;
+
+    public RequestExpiryScheduler(RequestRepository requestRepository, RequestService requestService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${requests.expiry.horizon:PT1H}") Duration horizon,
+                                  @Value("${requests.expiry.max-pending:100000}") int maxPending,
+                                  @Value("${requests.expiry.batch-size:500}") int batchSize) {
+        this.requestRepository = requestRepository;
+        this.requestService = requestService;
+        this.horizon = horizon;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.expiredRequests = Counter.builder("requests.expired")
+                .description("Requests moved to EXPIRED by the deadline scheduler")
+                .register(meterRegistry);
+        Gauge.builder("requests.expiry.pending", this, RequestExpiryScheduler::pendingCount)
+                .description("Deadlines currently held in memory")
+                .register(meterRegistry);
+    }
+
+    // 1. Toutes les secondes : expire les échéances atteintes (rien à faire tant que la tête du tas est dans le futur)
+    @Scheduled(fixedDelayString = "${requests.expiry.tick-ms:1000}")
+    public void fireDue() {
+        List<Long> due;
+        while (!(due = pollDue(LocalDateTime.now())).isEmpty()) {
+            expire(due);
+        }
+    }
+
+    // 2. Périodiquement (et au démarrage) : balaye les demandes déjà échues, puis charge les échéances suivantes
+    @Scheduled(fixedDelayString = "${requests.expiry.refill-interval-ms:30000}")
+    public void refill() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RequestRepository.DeadlineView> overdue;
+        do {
+            overdue = requestRepository.findDeadlines(RequestStatus.SUBMITTED, now, Limit.of(batchSize));
+            expire(overdue.stream().map(RequestRepository.DeadlineView::getId).toList());
+        } while (overdue.size() == batchSize);
+
+        loadUntil(now.plus(horizon));
+    }
+
+    private List<Long> pollDue(LocalDateTime now) {
+        lock.lock();
+        try {
+            List<Long> due = new ArrayList<>();
+            while (due.size() < batchSize && !pending.isEmpty() && !pending.peek().deadline().isAfter(now)) {
+                due.add(pending.poll().id());
+            }
+            return due;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Chargement incrémental : (watermark, until], par pages, sans dépasser maxPending échéances en mémoire
+    private void loadUntil(LocalDateTime until) {
+        lock.lock();
+        try {
+            while (pending.size() < maxPending) {
+                int pageSize = Math.min(batchSize, maxPending - pending.size());
+                List<RequestRepository.DeadlineView> page = watermark == null
+                        ? requestRepository.findDeadlines(RequestStatus.SUBMITTED, until, Limit.of(pageSize))
+                        : requestRepository.findDeadlinesAfter(RequestStatus.SUBMITTED, watermark.deadline(), watermark.id(),
+                                until, Limit.of(pageSize));
+                for (RequestRepository.DeadlineView view : page) {
+                    watermark = new PendingDeadline(view.getDeadline(), view.getId());
+                    pending.add(watermark);
+                }
+                if (page.size() < pageSize) {
+                    // Tout est chargé jusqu'à until : le prochain chargement ne relira pas cette plage
+                    watermark = new PendingDeadline(until, Long.MAX_VALUE);
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expire(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        BulkTransitionResponse response = requestService.expireRequests(ids);
+        int expired = response.getApplied().size();
+        if (expired > 0) {
+            // Suivi normal : compteur requests.expired ; le détail par tick reste au niveau DEBUG
+            expiredRequests.increment(expired);
+            log.debug("Deadline scheduler: {} request(s) expired", expired);
+        }
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record PendingDeadline(LocalDateTime deadline, Long id) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.interactive.eserviceplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import jakarta.persistence.EntityManager;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export en flux des demandes (par statut ou par utilisateur), en NDJSON ou CSV.
+ * Les lignes sont lues par un curseur de base de données et écrites une à une dans la réponse :
+ * chaque entité est détachée dès qu'elle est écrite, la mémoire utilisée ne dépend pas du volume exporté.
+ */
+@Service
+public class RequestExportService {
+
+    private static final String CSV_HEADER =
+            "id,userId,documentType,title,description,birthDate,birthPlace,status,createdAt,deadline,version";
+
+    private final RequestRepository requestRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public RequestExportService(RequestRepository requestRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.requestRepository = requestRepository;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writerFor(Request.class);
+    }
+
+    // La transaction (lecture seule) doit couvrir toute l'écriture : le curseur vit avec elle
+    @Transactional(readOnly = true)
+    public long exportByStatus(RequestStatus status, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Request> rows = requestRepository.streamByStatus(status)) {
+            return write(rows, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportByUserId(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Request> rows = requestRepository.streamByUserId(userId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    private long write(Stream<Request> rows, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long count = 0;
+        Iterator<Request> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Request request = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, request);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(request));
+                writer.write('\n');
+            }
+            // Libère l'entité du contexte de persistance : sinon il grossit avec chaque ligne lue
+            entityManager.detach(request);
+            count++;
+        }
+        // Le BufferedWriter n'est pas fermé : le flux de réponse appartient au conteneur
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Request request) throws IOException {
+        writer.write(csv(request.getId()));
+        writer.write(',');
+        writer.write(csv(request.getUserId()));
+        writer.write(',');
+        writer.write(csv(request.getDocumentType() != null ? request.getDocumentType().getLabel() : null));
+        writer.write(',');
+        writer.write(csv(request.getTitle()));
+        writer.write(',');
+        writer.write(csv(request.getDescription()));
+        writer.write(',');
+        writer.write(csv(request.getBirthDate()));
+        writer.write(',');
+        writer.write(csv(request.getBirthPlace()));
+        writer.write(',');
+        writer.write(csv(request.getStatus()));
+        writer.write(',');
+        writer.write(csv(request.getCreatedAt()));
+        writer.write(',');
+        writer.write(csv(request.getDeadline()));
+        writer.write(',');
+        writer.write(csv(request.getVersion()));
+        writer.write('\n');
+    }
+
+    // Champ CSV (RFC 4180) : entre guillemets s'il contient un séparateur, un guillemet ou un retour à la ligne
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
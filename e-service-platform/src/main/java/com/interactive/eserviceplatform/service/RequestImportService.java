@@ -0,0 +1,154 @@
+package com.interactive.eserviceplatform.service;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interactive.eserviceplatform.exception.InvalidBulkRequestException;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.model.RequestStatusHistory;
+import com.interactive.eserviceplatform.payload.response.ImportResponse;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import en flux de demandes (reprise d'historiques) au format NDJSON : un objet Request JSON par ligne.
+ * Les lignes sont lues au fil de l'eau (mémoire constante, quelle que soit la taille du fichier),
+ * puis insérées par tranches : une transaction et des INSERT groupés en lots JDBC par tranche.
+ * Les tranches déjà validées restent en base si une ligne suivante est invalide.
+ * Seuls les statuts DRAFT et SUBMITTED sont acceptés : une décision (APPROVED, REJECTED, EXPIRED)
+ * passe toujours par les transitions, jamais par l'import.
+ * Chaque ligne importée reçoit sa première ligne d'historique (aucun statut -> statut importé), à sa date de création.
+ */
+@Service
+public class RequestImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestImportService.class);
+
+    private final RequestRepository requestRepository;
+    private final RequestStatsRegistry requestStats;
+    private final RequestSearchIndex searchIndex;
+    private final StatusHistoryWriter historyWriter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter importedRows;
+
+    public RequestImportService(RequestRepository requestRepository, RequestStatsRegistry requestStats,
+                                RequestSearchIndex searchIndex, StatusHistoryWriter historyWriter,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${requests.import.chunk-size:1000}") int chunkSize) {
+        this.requestRepository = requestRepository;
+        this.requestStats = requestStats;
+        this.searchIndex = searchIndex;
+        this.historyWriter = historyWriter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.importedRows = Counter.builder("requests.import.rows")
+                .description("Rows inserted by the streaming import")
+                .register(meterRegistry);
+    }
+
+    public ImportResponse importNdjson(InputStream input) throws IOException {
+        long start = System.nanoTime();
+        long imported = 0;
+        int chunks = 0;
+        List<Request> chunk = new ArrayList<>(chunkSize);
+
+        try (MappingIterator<Request> rows = objectMapper.readerFor(Request.class).readValues(input)) {
+            Request row;
+            while ((row = nextRow(rows, imported + chunk.size())) != null) {
+                chunk.add(prepare(row, imported + chunk.size()));
+                if (chunk.size() == chunkSize) {
+                    imported += saveChunk(chunk);
+                    chunks++;
+                    reportProgress(imported, start);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += saveChunk(chunk);
+            chunks++;
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        ImportResponse response = new ImportResponse(imported, chunks, elapsedMs);
+        log.info("Import completed: {} rows in {} chunks, {} ms ({} rows/s)",
+                imported, chunks, elapsedMs, response.getRowsPerSecond());
+        return response;
+    }
+
+    // Retourne null en fin de flux ; une ligne illisible interrompt l'import (-> 400)
+    private static Request nextRow(MappingIterator<Request> rows, long rowsRead) throws IOException {
+        try {
+            return rows.hasNextValue() ? rows.nextValue() : null;
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            String line = location != null ? "Line " + location.getLineNr() : "Row " + (rowsRead + 1);
+            throw new InvalidBulkRequestException(line + ": " + e.getOriginalMessage()
+                    + " (" + rowsRead + " rows read before the error, only complete chunks were committed)");
+        }
+    }
+
+    // Toujours une insertion ; statut (DRAFT ou SUBMITTED) et date de création de l'historique conservés s'ils sont fournis
+    private static Request prepare(Request row, long rowsRead) {
+        row.setId(null);
+        row.setVersion(null);
+        if (row.getStatus() == null) {
+            row.setStatus(RequestStatus.DRAFT);
+        } else if (row.getStatus() != RequestStatus.DRAFT && row.getStatus() != RequestStatus.SUBMITTED) {
+            throw new InvalidBulkRequestException("Row " + (rowsRead + 1) + ": status " + row.getStatus()
+                    + " cannot be imported (only DRAFT or SUBMITTED)"
+                    + " (" + rowsRead + " rows read before the error, only complete chunks were committed)");
+        }
+        if (row.getCreatedAt() == null) {
+            row.setCreatedAt(LocalDateTime.now());
+        }
+        return row;
+    }
+
+    // Une transaction par tranche ; le contexte de persistance est libéré avec elle
+    // L'historique est confié au StatusHistoryWriter, qui ne l'écrit qu'après le commit de la tranche
+    private int saveChunk(List<Request> chunk) {
+        int size = chunk.size();
+        String actor = RequestService.currentActor();
+        transactionTemplate.executeWithoutResult(tx -> {
+            requestRepository.saveAll(chunk);
+            chunk.forEach(row -> requestStats.recordCreated(row.getStatus(), row.getDocumentType()));
+            searchIndex.indexCreated(chunk);
+            List<RequestStatusHistory> history = new ArrayList<>(size);
+            for (Request row : chunk) {
+                history.add(new RequestStatusHistory(row.getId(), null, row.getStatus(), actor, row.getCreatedAt()));
+            }
+            historyWriter.append(history);
+        });
+        importedRows.increment(size);
+        chunk.clear();
+        return size;
+    }
+
+    // Avancement par tranche au niveau DEBUG : le débit se suit avec le compteur requests.import.rows
+    private static void reportProgress(long imported, long start) {
+        if (log.isDebugEnabled()) {
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            log.debug("Import in progress: {} rows committed ({} rows/s)", imported, imported * 1000 / elapsedMs);
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.SearchIndexUnavailableException;
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Index inversé en mémoire pour la recherche plein texte sur le titre, la description et le lieu de naissance.
+ *
+ * Les mots sont normalisés (minuscules, sans accents) ; une recherche renvoie les demandes qui contiennent
+ * tous les mots, classées par score BM25 (un mot du titre compte triple, du lieu de naissance double).
+ * Pour chaque mot, la liste des documents (postings) est triée : on parcourt la plus courte
+ * et on cherche les autres par dichotomie ; seuls les meilleurs résultats de la page sont gardés (tas borné).
+ *
+ * Comme RequestStatsRegistry : mis à jour après le commit par RequestService (création, transitions) et l'import,
+ * chargé au démarrage puis reconstruit périodiquement (en flux, à côté de l'index servi) pour rattraper
+ * les écritures faites hors de cette instance. Les modifications reçues pendant une reconstruction
+ * sont rejouées sur le nouvel index avant qu'il ne remplace l'ancien.
+ */
+@Component
+public class RequestSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestSearchIndex.class);
+
+    // Poids des champs dans le score (fréquence pondérée d'un mot dans la demande)
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BIRTH_PLACE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Paramètres usuels de BM25 (saturation de la fréquence, normalisation par la longueur)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final RequestRepository requestRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int retryAfterSeconds;
+    private final Timer searches;
+    private final Timer rebuilds;
+
+    // null tant que le premier chargement n'est pas terminé
+    private volatile Index index;
+    // Modifications à rejouer sur l'index en cours de reconstruction (null hors reconstruction), protégé par "this"
+    private List<Consumer<Index>> replayLog;
+    private final Object rebuildLock = new Object();
+
+    public RequestSearchIndex(RequestRepository requestRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${requests.search.retry-after-seconds:5}") int retryAfterSeconds) {
+        this.requestRepository = requestRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.searches = Timer.builder("requests.search.duration")
+                .description("Time spent looking up and ranking full-text search results")
+                .register(meterRegistry);
+        this.rebuilds = Timer.builder("requests.search.rebuild")
+                .description("Time spent loading the full-text search index from the database")
+                .register(meterRegistry);
+        Gauge.builder("requests.search.documents", this, search -> search.index == null ? 0 : search.index.size)
+                .description("Requests held in the full-text search index")
+                .register(meterRegistry);
+        Gauge.builder("requests.search.terms", this, search -> search.index == null ? 0 : search.index.postings.size())
+                .description("Distinct words held in the full-text search index")
+                .register(meterRegistry);
+    }
+
+    // Résultat d'une recherche : id de la demande et score (plus haut = plus pertinent)
+    public record Hit(long id, double score) {
+    }
+
+    // Nouvelles demandes (création unitaire ou import)
+    public void indexCreated(Collection<Request> requests) {
+        List<Document> documents = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            documents.add(new Document(request.getId(), request.getTitle(), request.getDescription(),
+                    request.getBirthPlace(), request.getStatus(), request.getDocumentType()));
+        }
+        afterCommit(() -> apply(index -> documents.forEach(index::add)));
+    }
+
+    // Transitions effectivement appliquées (seul le statut change)
+    public void recordTransition(Collection<Long> ids, RequestStatus to) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> modified = List.copyOf(ids);
+        afterCommit(() -> apply(index -> index.setStatus(modified, to)));
+    }
+
+    /**
+     * Demandes contenant tous les mots "terms" (issus de tokenize), du statut / type de document demandés s'ils sont fournis,
+     * de la plus pertinente à la moins pertinente ; au plus "limit" résultats situés après "after" (page suivante).
+     */
+    public List<Hit> search(Collection<String> terms, RequestStatus status, DocumentType documentType,
+                            SearchCursor after, int limit) {
+        Index current = index;
+        if (current == null) {
+            throw new SearchIndexUnavailableException("The search index is still loading. Please retry later.",
+                    retryAfterSeconds);
+        }
+        long start = System.nanoTime();
+        try {
+            return current.search(terms, status, documentType, after, limit);
+        } finally {
+            searches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Charge l'index depuis la base (au démarrage, puis périodiquement). L'index servi reste utilisé
+     * (et mis à jour) pendant le chargement ; le nouvel index le remplace une fois complet.
+     */
+    @Scheduled(fixedDelayString = "${requests.search.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                replayLog = new ArrayList<>();
+            }
+            Index fresh = new Index();
+            try {
+                readOnlyTransaction.executeWithoutResult(tx -> {
+                    try (Stream<RequestRepository.SearchFieldsView> rows = requestRepository.streamSearchFields()) {
+                        rows.forEach(row -> fresh.add(new Document(row.getId(), row.getTitle(), row.getDescription(),
+                                row.getBirthPlace(), row.getStatus(), row.getDocumentType())));
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    replayLog = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                replayLog.forEach(mutation -> mutation.accept(fresh));
+                replayLog = null;
+                index = fresh;
+            }
+            // Durée et taille suivies par les métriques de l'index ; le détail de chaque reconstruction en DEBUG
+            rebuilds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Search index loaded: {} requests, {} words in {} ms",
+                    fresh.size, fresh.postings.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Mots indexables d'un texte : décomposition Unicode puis suppression des accents, minuscules,
+     * découpage sur tout ce qui n'est ni lettre ni chiffre ("Saint-Étienne" -> "saint", "etienne").
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private synchronized void apply(Consumer<Index> mutation) {
+        Index current = index;
+        if (current != null) {
+            current.lock.writeLock().lock();
+            try {
+                mutation.accept(current);
+            } finally {
+                current.lock.writeLock().unlock();
+            }
+        }
+        if (replayLog != null) {
+            replayLog.add(mutation);
+        }
+    }
+
+    // Dans une transaction, on n'indexe qu'après le commit (un rollback ne laisse rien dans l'index)
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private record Document(Long id, String title, String description, String birthPlace,
+                            RequestStatus status, DocumentType documentType) {
+    }
+
+    /**
+     * Contenu de l'index : les demandes sont numérotées dans l'ordre d'ajout (numéro de document),
+     * leurs attributs sont rangés dans des tableaux indexés par ce numéro.
+     * Lectures concurrentes sous verrou partagé, modifications sous verrou exclusif.
+     */
+    private static final class Index {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final IdTable documentsById = new IdTable();
+        private long[] ids = new long[1024];
+        private byte[] statuses = new byte[1024];
+        private byte[] documentTypes = new byte[1024];
+        private int[] lengths = new int[1024];
+        private int size;
+        private long totalLength;
+
+        // Sans effet si la demande est déjà indexée (rejeu d'une création pendant une reconstruction)
+        void add(Document document) {
+            if (documentsById.get(document.id()) >= 0) {
+                return;
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            addTokens(frequencies, document.title(), TITLE_WEIGHT);
+            addTokens(frequencies, document.birthPlace(), BIRTH_PLACE_WEIGHT);
+            addTokens(frequencies, document.description(), DESCRIPTION_WEIGHT);
+
+            int doc = size;
+            if (doc == ids.length) {
+                int capacity = doc + (doc >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                documentTypes = Arrays.copyOf(documentTypes, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            ids[doc] = document.id();
+            statuses[doc] = (byte) document.status().ordinal();
+            documentTypes[doc] = document.documentType() == null ? -1 : (byte) document.documentType().ordinal();
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            lengths[doc] = length;
+            totalLength += length;
+            documentsById.put(document.id(), doc);
+            size++;
+        }
+
+        void setStatus(List<Long> requestIds, RequestStatus status) {
+            for (Long id : requestIds) {
+                int doc = documentsById.get(id);
+                if (doc >= 0) {
+                    statuses[doc] = (byte) status.ordinal();
+                }
+            }
+        }
+
+        List<Hit> search(Collection<String> terms, RequestStatus status, DocumentType documentType,
+                         SearchCursor after, int limit) {
+            lock.readLock().lock();
+            try {
+                List<Postings> lists = new ArrayList<>();
+                for (String term : new LinkedHashSet<>(terms)) {
+                    Postings list = postings.get(term);
+                    if (list == null) {
+                        return List.of(); // un mot absent de l'index : aucune demande ne les contient tous
+                    }
+                    lists.add(list);
+                }
+                if (lists.isEmpty()) {
+                    return List.of();
+                }
+                lists.sort(Comparator.comparingInt(list -> list.size));
+                int termCount = lists.size();
+                double[] idf = new double[termCount];
+                for (int t = 0; t < termCount; t++) {
+                    int df = lists.get(t).size;
+                    idf[t] = Math.log(1 + (size - df + 0.5) / (df + 0.5));
+                }
+                double averageLength = Math.max(1.0, (double) totalLength / Math.max(1, size));
+                int statusFilter = status == null ? -2 : status.ordinal();
+                int documentTypeFilter = documentType == null ? -2 : documentType.ordinal();
+
+                // Tas borné : le moins bon des résultats gardés est en tête
+                PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1,
+                        Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id));
+                // Parcours du plus récent au plus ancien (numéros de document décroissants) : à score égal,
+                // l'id le plus grand est déjà gardé et les suivants sont écartés sans toucher au tas
+                int[] ends = new int[termCount];
+                for (int t = 1; t < termCount; t++) {
+                    ends[t] = lists.get(t).size;
+                }
+                Postings shortest = lists.get(0);
+                candidates:
+                for (int i = shortest.size - 1; i >= 0; i--) {
+                    int doc = shortest.documents[i];
+                    if ((statusFilter != -2 && statuses[doc] != statusFilter)
+                            || (documentTypeFilter != -2 && documentTypes[doc] != documentTypeFilter)) {
+                        continue;
+                    }
+                    double lengthNorm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    int weight = shortest.weights[i] & 0xFF;
+                    double score = idf[0] * weight * (K1 + 1) / (weight + lengthNorm);
+                    for (int t = 1; t < termCount; t++) {
+                        Postings list = lists.get(t);
+                        int position = Arrays.binarySearch(list.documents, 0, ends[t], doc);
+                        if (position < 0) {
+                            ends[t] = -position - 1;
+                            continue candidates;
+                        }
+                        ends[t] = position;
+                        weight = list.weights[position] & 0xFF;
+                        score += idf[t] * weight * (K1 + 1) / (weight + lengthNorm);
+                    }
+                    long id = ids[doc];
+                    if (after != null && !after.precedes(score, id)) {
+                        continue;
+                    }
+                    if (best.size() == limit) {
+                        // Page pleine : seul un résultat meilleur que le moins bon gardé y entre (pas d'allocation sinon)
+                        Hit worst = best.peek();
+                        if (score < worst.score() || (score == worst.score() && id < worst.id())) {
+                            continue;
+                        }
+                        best.poll();
+                    }
+                    best.add(new Hit(id, score));
+                }
+                List<Hit> hits = new ArrayList<>(best);
+                hits.sort(Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id).reversed());
+                return hits;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+            for (String token : tokenize(text)) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    // Documents contenant un mot, par numéro croissant, avec la fréquence pondérée du mot (plafonnée à 255)
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == documents.length) {
+                int capacity = size + (size >> 1) + 1;
+                documents = Arrays.copyOf(documents, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            documents[size] = doc;
+            weights[size] = (byte) Math.min(weight, 255);
+            size++;
+        }
+    }
+
+    // Table id de la demande -> numéro de document, à adressage ouvert (pas d'objet Long / Integer par demande)
+    private static final class IdTable {
+
+        private long[] keys = new long[2048];
+        private int[] values = new int[2048]; // numéro de document + 1 ; 0 = case libre
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); values[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (values[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == 0) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value + 1;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != 0) {
+                    int slot = slot(oldKeys[i], mask);
+                    while (values[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -1,83 +1,497 @@
 package com.interactive.eserviceplatform.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interactive.eserviceplatform.exception.InvalidBulkRequestException;
+import com.interactive.eserviceplatform.exception.InvalidFilterRequestException;
+import com.interactive.eserviceplatform.exception.InvalidSearchRequestException;
 import com.interactive.eserviceplatform.exception.InvalidStatusTransitionException;
 import com.interactive.eserviceplatform.exception.ResourceNotFoundException;
+import com.interactive.eserviceplatform.model.DocumentType;
 import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.model.RequestStatusHistory;
+import com.interactive.eserviceplatform.payload.request.RequestFilter;
+import com.interactive.eserviceplatform.payload.response.BulkTransitionResponse;
+import com.interactive.eserviceplatform.payload.response.FilterPageResponse;
+import com.interactive.eserviceplatform.payload.response.PageResponse;
+import com.interactive.eserviceplatform.payload.response.RequestStatsResponse;
+import com.interactive.eserviceplatform.payload.response.RequestStatusEvent;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
+import com.interactive.eserviceplatform.repository.RequestFilterPlan;
+import com.interactive.eserviceplatform.repository.RequestFilterRepository;
 import com.interactive.eserviceplatform.repository.RequestRepository;
+import com.interactive.eserviceplatform.repository.RequestStatusHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 @Service
 public class RequestService {
 
     private final RequestRepository requestRepository;
+    private final RequestStatsRegistry requestStats;
+    private final RequestEventHub requestEvents;
+    private final RequestSearchIndex searchIndex;
+
+    // Historique des statuts : écrit en différé (aucun INSERT dans la transaction de la transition)
+    private final StatusHistoryWriter historyWriter;
+    private final RequestStatusHistoryRepository historyRepository;
+
+    // Taille maximale d'une page des listes (le client ne peut pas demander plus)
+    private final int maxPageSize;
+
+    // Filtre multi-critères : nombre de résultats compté au plus jusqu'à ce plafond (première page seulement)
+    private final int filterCountCap;
+
+    // Transitions par lot : une transaction courte par tranche d'ids
+    private final TransactionTemplate transactionTemplate;
+    private final int bulkChunkSize;
+    private final int bulkMaxIds;
+
+    // Cache borné (read-through) des demandes lues par id : les clients interrogent GET /{id} en boucle
+    // pour suivre leur statut. Les entrées sont des entités détachées ; chaque écriture les retire.
+    private final Cache<Long, Request> requestCache;
+
+    // Compteurs d'évictions par id (tableau de taille fixe, un compteur partagé par plusieurs ids) :
+    // une lecture commencée avant une éviction ne remet pas en cache la ligne qu'elle a lue
+    private static final int EVICTION_STAMPS = 4096;
+    private final AtomicLongArray evictionStamps = new AtomicLongArray(EVICTION_STAMPS);
+
+    // Métriques par transition (statut cible) : demandes par issue et durée, créées une fois au démarrage
+    private final Map<RequestStatus, TransitionMeters> transitionMeters = new EnumMap<>(RequestStatus.class);
 
     //@Autowired
-    public RequestService(RequestRepository requestRepository) {
+    public RequestService(RequestRepository requestRepository,
+                          RequestStatsRegistry requestStats,
+                          RequestEventHub requestEvents,
+                          RequestSearchIndex searchIndex,
+                          StatusHistoryWriter historyWriter,
+                          RequestStatusHistoryRepository historyRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${requests.pagination.max-size:100}") int maxPageSize,
+                          @Value("${requests.filter.count-cap:10000}") int filterCountCap,
+                          @Value("${requests.bulk.chunk-size:500}") int bulkChunkSize,
+                          @Value("${requests.bulk.max-ids:10000}") int bulkMaxIds,
+                          @Value("${requests.cache.max-size:10000}") long cacheMaxSize,
+                          @Value("${requests.cache.ttl:PT10M}") Duration cacheTtl) {
         this.requestRepository = requestRepository;
+        this.requestStats = requestStats;
+        this.requestEvents = requestEvents;
+        this.searchIndex = searchIndex;
+        this.historyWriter = historyWriter;
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPageSize = maxPageSize;
+        this.filterCountCap = filterCountCap;
+        this.bulkChunkSize = bulkChunkSize;
+        this.bulkMaxIds = bulkMaxIds;
+        this.requestCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        // Expose hit ratio et évictions (cache.gets{result=hit|miss}, ...)
+        CaffeineCacheMetrics.monitor(meterRegistry, requestCache, "requests.by-id");
+        for (RequestStatus to : RequestStatus.values()) {
+            if (to.requiredPreviousStatus() != null) {
+                transitionMeters.put(to, new TransitionMeters(meterRegistry, to.requiredPreviousStatus(), to));
+            }
+        }
     }
 
     // 1. Création (logique simple)
     public Request createRequest(Request newRequest) {
-        newRequest.setStatus("DRAFT");
+        // Toujours une insertion : l'id et la version éventuellement envoyés par le client sont ignorés
+        newRequest.setId(null);
+        newRequest.setVersion(null);
+        newRequest.setStatus(RequestStatus.DRAFT);
         newRequest.setCreatedAt(LocalDateTime.now());
-        return requestRepository.save(newRequest); 
+        Request saved = requestRepository.save(newRequest);
+        requestStats.recordCreated(saved.getStatus(), saved.getDocumentType());
+        searchIndex.indexCreated(List.of(saved));
+        historyWriter.append(List.of(new RequestStatusHistory(saved.getId(), null, RequestStatus.DRAFT,
+                currentActor(), saved.getCreatedAt())));
+        // Hors transaction englobante, la ligne est déjà validée : elle peut être servie depuis le cache
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            requestCache.put(saved.getId(), saved);
+        }
+        return saved;
     }
     
-    // 2. Consultation par ID
+    // 2. Consultation par ID (lecture à travers le cache ; les demandes inconnues ne sont pas mises en cache)
+    // Une ligne lue avant une transition peut arriver après l'éviction faite au commit : elle n'est gardée
+    // que si aucune éviction n'a eu lieu depuis le début de la lecture, et jamais à la place d'une version plus récente.
     public Optional<Request> getRequestById(Long id) {
-        return requestRepository.findById(id);
+        Request cached = requestCache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        int slot = stampSlot(id);
+        long stamp = evictionStamps.get(slot);
+        return requestRepository.findById(id).map(request -> {
+            requestCache.asMap().compute(id, (key, current) -> {
+                if (evictionStamps.get(slot) != stamp) {
+                    return current;
+                }
+                return current == null || request.getVersion() >= current.getVersion() ? request : current;
+            });
+            return request;
+        });
     } 
     
-    // 3. Consultation par UserId (utilise la Query Method du Repository)
-    public List<Request> getRequestsByUserId(Long userId) {
-        return requestRepository.findAllByUserId(userId);
+    // 3. Consultation par UserId, page par page (pagination par curseur sur createdAt, id)
+    // Les listes renvoient des RequestSummary : l'entité complète n'est servie que par getRequestById
+    public PageResponse<RequestSummary> getRequestsByUserId(Long userId, String pageToken, int size) {
+        int limit = clampPageSize(size);
+        List<RequestSummary> rows;
+        if (pageToken == null) {
+            rows = requestRepository.findPageByUserId(userId, Limit.of(limit + 1));
+        } else {
+            PageCursor cursor = PageCursor.decode(pageToken);
+            rows = requestRepository.findPageByUserIdAfter(userId, cursor.createdAt(), cursor.id(), Limit.of(limit + 1));
+        }
+        return toPage(rows, limit);
     }
 
-    // 3bis. Consultation par Statut
-    public List<Request> getRequestsByStatus(String status) {
-        return requestRepository.findAllByStatus(status);
+    // 3bis. Consultation par Statut, page par page
+    public PageResponse<RequestSummary> getRequestsByStatus(RequestStatus status, String pageToken, int size) {
+        int limit = clampPageSize(size);
+        List<RequestSummary> rows;
+        if (pageToken == null) {
+            rows = requestRepository.findPageByStatus(status, Limit.of(limit + 1));
+        } else {
+            PageCursor cursor = PageCursor.decode(pageToken);
+            rows = requestRepository.findPageByStatusAfter(status, cursor.createdAt(), cursor.id(), Limit.of(limit + 1));
+        }
+        return toPage(rows, limit);
+    }
+
+    // 3ter. Anciennes listes non bornées (option explicite "all=true" des endpoints)
+    public List<RequestSummary> getAllRequestsByUserId(Long userId) {
+        return requestRepository.findAllSummariesByUserId(userId);
+    }
+
+    public List<RequestSummary> getAllRequestsByStatus(RequestStatus status) {
+        return requestRepository.findAllSummariesByStatus(status);
     }
 
-    // 4. Logique pour passer une demande en statut SOUMIS 
+    // 3ter bis. Historique des statuts d'une demande, du plus ancien au plus récent
+    // Écrit en différé : une transition validée il y a moins de requests.history.flush-interval-ms peut manquer.
+    public List<RequestStatusHistory> getStatusHistory(Long id) {
+        List<RequestStatusHistory> history = historyRepository.findAllByRequestIdOrderByOccurredAtAscIdAsc(id);
+        if (history.isEmpty() && !requestRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Request not found with ID: " + id);
+        }
+        return history;
+    }
+
+    // 3bis bis. Filtre multi-critères (utilisateur, statut, type de document, plages de création et d'échéance)
+    // Une seule requête, servie par l'index du plan choisi (RequestFilterPlan), paginée par curseur.
+    public FilterPageResponse filterRequests(RequestFilter filter, String pageToken, int size) {
+        RequestFilterPlan plan = RequestFilterPlan.of(filter);
+        checkRange(filter.getCreatedFrom(), filter.getCreatedTo(), "createdFrom", "createdTo");
+        checkRange(filter.getDeadlineFrom(), filter.getDeadlineTo(), "deadlineFrom", "deadlineTo");
+        int limit = clampPageSize(size);
+        PageCursor cursor = pageToken == null ? null : PageCursor.decode(pageToken);
+        List<RequestFilterRepository.FilteredRow> rows = requestRepository.findFiltered(filter, plan,
+                cursor == null ? null : cursor.createdAt(), cursor == null ? null : cursor.id(), limit + 1);
+
+        List<RequestSummary> items = new ArrayList<>(Math.min(limit, rows.size()));
+        for (int i = 0; i < Math.min(limit, rows.size()); i++) {
+            items.add(rows.get(i).summary());
+        }
+        String nextPageToken = null;
+        if (rows.size() > limit) {
+            // Le curseur porte la clé de tri du plan (createdAt, ou deadline pour STATUS_DEADLINE)
+            RequestFilterRepository.FilteredRow last = rows.get(limit - 1);
+            nextPageToken = new PageCursor(last.sortKey(), last.summary().getId()).encode();
+        }
+        if (pageToken != null) {
+            return new FilterPageResponse(items, nextPageToken, null, null);
+        }
+        // Pas de COUNT(*) : au plus filterCountCap + 1 ids lus dans l'index (une page suffit si tout y tient)
+        int count = rows.size() <= limit ? rows.size() : requestRepository.countFilteredUpTo(filter, plan, filterCountCap + 1);
+        return new FilterPageResponse(items, nextPageToken, (long) Math.min(count, filterCountCap), count <= filterCountCap);
+    }
+
+    // 3ter ter. Recherche plein texte (titre, description, lieu de naissance), par pertinence décroissante
+    // Servie par l'index en mémoire ; seule la page retournée est lue en base (par clé primaire).
+    public PageResponse<RequestSummary> search(String text, RequestStatus status, DocumentType documentType,
+                                               String pageToken, int size) {
+        List<String> terms = RequestSearchIndex.tokenize(text);
+        if (terms.isEmpty()) {
+            throw new InvalidSearchRequestException("The search text must contain at least one word of two characters or more.");
+        }
+        int limit = clampPageSize(size);
+        SearchCursor after = pageToken == null ? null : SearchCursor.decode(pageToken);
+        List<RequestSearchIndex.Hit> hits = searchIndex.search(terms, status, documentType, after, limit + 1);
+        List<RequestSearchIndex.Hit> page = hits.subList(0, Math.min(limit, hits.size()));
+        if (page.isEmpty()) {
+            return new PageResponse<>(List.of(), null);
+        }
+
+        List<Long> ids = page.stream().map(RequestSearchIndex.Hit::id).toList();
+        Map<Long, RequestSummary> byId = new HashMap<>();
+        for (RequestSummary summary : requestRepository.findSummariesByIdIn(ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<RequestSummary> items = new ArrayList<>(page.size());
+        for (Long id : ids) {
+            RequestSummary summary = byId.get(id);
+            if (summary != null) { // supprimée depuis le dernier chargement de l'index
+                items.add(summary);
+            }
+        }
+        RequestSearchIndex.Hit last = page.get(page.size() - 1);
+        String nextPageToken = hits.size() > limit ? new SearchCursor(last.score(), last.id()).encode() : null;
+        return new PageResponse<>(items, nextPageToken);
+    }
+
+    // 3quater. Nombre de demandes par statut et type de document (compteurs en mémoire, sans requête SQL)
+    public RequestStatsResponse getStats() {
+        return requestStats.snapshot();
+    }
+
+    // 4. Logique pour passer une demande en statut SOUMIS (DRAFT -> SUBMITTED)
+    @Transactional
     public Request submitRequest(Long id) {
-        Request request = requestRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Request not found with ID: " + id)); 
-        
-        String status = request.getStatus();
-        if (!"DRAFT".equals(status)) {
-            throw new InvalidStatusTransitionException("Only DRAFT requests can be submitted.");
-        }     
-        request.setStatus("SUBMITTED");
-        return requestRepository.save(request);
+        return transition(id, RequestStatus.DRAFT, RequestStatus.SUBMITTED, "Only DRAFT requests can be submitted.");
     }
 
     // 5. REJETER UNE DEMANDE (BPM - SUBMITTED -> REJECTED) 
+    @Transactional
     public Request rejectRequest(Long id) {
-        Request request = requestRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Request not found with ID: " + id));
+        return transition(id, RequestStatus.SUBMITTED, RequestStatus.REJECTED, "Only SUBMITTED requests can be rejected.");
+    }
+
+    // 6. APPROUVER UNE DEMANDE (SUBMITTED -> APPROVED)
+    @Transactional
+    public Request approveRequest(Long id) {
+        return transition(id, RequestStatus.SUBMITTED, RequestStatus.APPROVED, "Only SUBMITTED requests can be approved.");
+    }
 
-        String status = request.getStatus();
-        if (!"SUBMITTED".equals(status)) { 
-            throw new InvalidStatusTransitionException("Only SUBMITTED requests can be rejected.");
+    // 7. TRANSITION PAR LOT (ex : approuver des milliers de demandes SUBMITTED en un appel)
+    // Les ids sont traités par tranches, chacune dans sa propre transaction (courte, bornée) :
+    // 1 SELECT ... FOR UPDATE pour connaître l'état de chaque id + 1 UPDATE pour toute la tranche.
+    public BulkTransitionResponse bulkTransition(List<Long> ids, RequestStatus targetStatus) {
+        RequestStatus from = targetStatus == null ? null : targetStatus.requiredPreviousStatus();
+        if (from == null || targetStatus.isSystemOnly()) {
+            throw new InvalidBulkRequestException("Target status " + targetStatus + " cannot be reached by a transition.");
+        }
+        if (ids == null || ids.isEmpty()) {
+            return new BulkTransitionResponse(targetStatus);
         }
-        request.setStatus("REJECTED");
-        return requestRepository.save(request);
+        List<Long> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (uniqueIds.size() > bulkMaxIds) {
+            throw new InvalidBulkRequestException("At most " + bulkMaxIds + " ids can be processed in one call.");
+        }
+        return transitionInChunks(uniqueIds, from, targetStatus);
     }
 
-    // 6. APPROUVER UNE DEMANDE (SUBMITTED -> REJECTED)
-    public Request approveRequest(Long id) {
-        Request request = requestRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Request not found with ID: " + id));
-        
-        String status = request.getStatus();
-        if (!"SUBMITTED".equals(status)) {
-            throw new InvalidStatusTransitionException("Only SUBMITTED requests can be approved.");
-        }
-        request.setStatus("APPROVED");
-        return requestRepository.save(request);
+    // 8. EXPIRER DES DEMANDES (SUBMITTED -> EXPIRED), appelé par RequestExpiryScheduler quand la deadline est passée
+    // Mêmes garanties que la transition par lot : une demande traitée entre-temps (APPROVED, ...) est ignorée.
+    public BulkTransitionResponse expireRequests(List<Long> ids) {
+        return transitionInChunks(ids, RequestStatus.SUBMITTED, RequestStatus.EXPIRED);
+    }
+
+    private BulkTransitionResponse transitionInChunks(List<Long> ids, RequestStatus from, RequestStatus to) {
+        BulkTransitionResponse response = new BulkTransitionResponse(to);
+        for (int start = 0; start < ids.size(); start += bulkChunkSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + bulkChunkSize, ids.size()));
+            transactionTemplate.executeWithoutResult(tx -> transitionChunk(chunk, from, to, response));
+        }
+        return response;
+    }
+
+    private void transitionChunk(List<Long> chunk, RequestStatus from, RequestStatus to, BulkTransitionResponse response) {
+        long start = System.nanoTime();
+        TransitionMeters meters = transitionMeters.get(to);
+        // Les lignes sont verrouillées jusqu'au commit : leur statut ne peut plus changer avant l'UPDATE
+        Map<Long, RequestRepository.StatusView> current = new HashMap<>();
+        for (RequestRepository.StatusView row : requestRepository.lockStatusesByIdIn(chunk)) {
+            current.put(row.getId(), row);
+        }
+
+        List<Long> eligible = new ArrayList<>();
+        List<RequestStatusEvent> events = new ArrayList<>();
+        List<RequestStatusHistory> history = new ArrayList<>();
+        String actor = currentActor();
+        LocalDateTime now = LocalDateTime.now();
+        int notFound = 0;
+        int wrongState = 0;
+        for (Long id : chunk) {
+            RequestRepository.StatusView row = current.get(id);
+            if (row == null) {
+                response.getNotFound().add(id);
+                notFound++;
+            } else if (row.getStatus() != from) {
+                response.getWrongState().add(id);
+                wrongState++;
+            } else {
+                eligible.add(id);
+                events.add(new RequestStatusEvent(id, row.getUserId(), from, to));
+                history.add(new RequestStatusHistory(id, from, to, actor, now));
+            }
+        }
+        if (!eligible.isEmpty()) {
+            requestRepository.updateStatusIfCurrent(eligible, from, to);
+            evict(eligible);
+            requestStats.recordTransition(from, to, eligible.size());
+            requestEvents.publish(events);
+            searchIndex.recordTransition(eligible, to);
+            historyWriter.append(history);
+            response.getApplied().addAll(eligible);
+        }
+        meters.applied.increment(eligible.size());
+        meters.wrongState.increment(wrongState);
+        meters.notFound.increment(notFound);
+        meters.bulkDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // Transition atomique : un seul UPDATE conditionnel (WHERE id = ? AND status = ?), sans lecture préalable.
+    // Si deux ADMIN traitent la même demande en même temps, un seul UPDATE modifie la ligne ;
+    // l'autre obtient 0 ligne et reçoit InvalidStatusTransitionException.
+    private Request transition(Long id, RequestStatus from, RequestStatus to, String errorMessage) {
+        long start = System.nanoTime();
+        TransitionMeters meters = transitionMeters.get(to);
+        try {
+            if (requestRepository.updateStatusIfCurrent(id, from, to) == 0) {
+                if (!requestRepository.existsById(id)) {
+                    meters.notFound.increment();
+                    throw new ResourceNotFoundException("Request not found with ID: " + id);
+                }
+                meters.wrongState.increment();
+                throw new InvalidStatusTransitionException(errorMessage);
+            }
+            meters.applied.increment();
+            evict(List.of(id));
+            requestStats.recordTransition(from, to, 1);
+            searchIndex.recordTransition(List.of(id), to);
+            // Relit la ligne modifiée (par clé primaire, dans la même transaction)
+            Request updated = requestRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Request not found with ID: " + id));
+            requestEvents.publish(List.of(new RequestStatusEvent(id, updated.getUserId(), from, to)));
+            historyWriter.append(List.of(new RequestStatusHistory(id, from, to, currentActor(), LocalDateTime.now())));
+            return updated;
+        } finally {
+            meters.singleDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Retire les demandes modifiées du cache. A appeler après chaque changement d'état d'une demande.
+     * Dans une transaction, les entrées sont aussi retirées après le commit, pour qu'une lecture
+     * concurrente ne remette pas en cache l'état d'avant la modification.
+     */
+    public void evict(Collection<Long> ids) {
+        invalidate(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> modified = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(modified);
+                }
+            });
+        }
+    }
+
+    // Le compteur est incrémenté avant le retrait : une lecture en cours (getRequestById) voit l'un ou l'autre
+    private void invalidate(Collection<Long> ids) {
+        for (Long id : ids) {
+            evictionStamps.incrementAndGet(stampSlot(id));
+        }
+        requestCache.invalidateAll(ids);
+    }
+
+    private static int stampSlot(Long id) {
+        return Long.hashCode(id) & (EVICTION_STAMPS - 1);
+    }
+
+    // Utilisateur à l'origine du changement ; "system" hors requête authentifiée (échéances, ...)
+    static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "system";
+        }
+        return authentication.getName();
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to, String fromName, String toName) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidFilterRequestException(fromName + " must be before " + toName + ".");
+        }
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    // Une ligne de plus que la page est lue : si elle existe, il y a une page suivante
+    private static PageResponse<RequestSummary> toPage(List<RequestSummary> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new PageResponse<>(rows, null);
+        }
+        List<RequestSummary> items = rows.subList(0, limit);
+        RequestSummary last = items.get(limit - 1);
+        return new PageResponse<>(items, new PageCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    // requests.transitions{from, to, outcome} et requests.transition.duration{from, to, mode}
+    private static final class TransitionMeters {
+
+        private final Counter applied;
+        private final Counter wrongState;
+        private final Counter notFound;
+        private final Timer singleDuration;
+        private final Timer bulkDuration;
+
+        TransitionMeters(MeterRegistry meterRegistry, RequestStatus from, RequestStatus to) {
+            this.applied = counter(meterRegistry, from, to, "applied");
+            this.wrongState = counter(meterRegistry, from, to, "wrong_state");
+            this.notFound = counter(meterRegistry, from, to, "not_found");
+            this.singleDuration = timer(meterRegistry, from, to, "single");
+            this.bulkDuration = timer(meterRegistry, from, to, "bulk_chunk");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, RequestStatus from, RequestStatus to, String outcome) {
+            return Counter.builder("requests.transitions")
+                    .tag("from", from.name()).tag("to", to.name()).tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, RequestStatus from, RequestStatus to, String mode) {
+            return Timer.builder("requests.transition.duration")
+                    .tag("from", from.name()).tag("to", to.name()).tag("mode", mode)
+                    .register(meterRegistry);
+        }
     }
 }
@@ -0,0 +1,120 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.RequestStatsResponse;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs en mémoire du nombre de demandes par statut et par type de document.
+ * Mis à jour par RequestService (création, transitions) et l'import, après le commit de la transaction ;
+ * initialisés puis recalés périodiquement par UNE requête d'agrégat (GROUP BY statut, type).
+ * La lecture (endpoint /stats) ne touche jamais la base.
+ */
+@Component
+public class RequestStatsRegistry {
+
+    private final RequestRepository requestRepository;
+
+    // LongAdder : incréments concurrents sans contention (une cellule par thread en cas de conflit)
+    private final Map<RequestStatus, LongAdder> byStatus = new EnumMap<>(RequestStatus.class);
+    private final Map<DocumentType, LongAdder> byDocumentType = new EnumMap<>(DocumentType.class);
+    // Le type de document est facultatif : le total n'est pas la somme de byDocumentType
+    private final LongAdder total = new LongAdder();
+
+    private volatile Instant reconciledAt;
+
+    public RequestStatsRegistry(RequestRepository requestRepository) {
+        this.requestRepository = requestRepository;
+        // Maps remplies une fois pour toutes : elles ne sont ensuite que lues (thread-safe)
+        for (RequestStatus status : RequestStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+        for (DocumentType documentType : DocumentType.values()) {
+            byDocumentType.put(documentType, new LongAdder());
+        }
+    }
+
+    // Nouvelles demandes (création unitaire ou import)
+    public void recordCreated(RequestStatus status, DocumentType documentType) {
+        afterCommit(() -> {
+            byStatus.get(status).increment();
+            if (documentType != null) {
+                byDocumentType.get(documentType).increment();
+            }
+            total.increment();
+        });
+    }
+
+    // Transitions effectivement appliquées (le type de document ne change pas)
+    public void recordTransition(RequestStatus from, RequestStatus to, long count) {
+        if (count == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            byStatus.get(from).add(-count);
+            byStatus.get(to).add(count);
+        });
+    }
+
+    public RequestStatsResponse snapshot() {
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        byStatus.forEach((status, count) -> statuses.put(status.name(), count.sum()));
+        Map<String, Long> documentTypes = new LinkedHashMap<>();
+        byDocumentType.forEach((documentType, count) -> documentTypes.put(documentType.name(), count.sum()));
+        return new RequestStatsResponse(total.sum(), statuses, documentTypes, reconciledAt);
+    }
+
+    /**
+     * Recale les compteurs sur la base (au démarrage, puis périodiquement) : corrige les écarts laissés
+     * par les écritures faites hors de cette instance (autres instances, scripts SQL).
+     * Une mise à jour concurrente du recalage peut être perdue ; le recalage suivant la corrige.
+     */
+    @Scheduled(fixedDelayString = "${requests.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<RequestStatus, Long> statuses = new EnumMap<>(RequestStatus.class);
+        Map<DocumentType, Long> documentTypes = new EnumMap<>(DocumentType.class);
+        long rows = 0;
+        for (RequestRepository.StatusCountView view : requestRepository.countByStatusAndDocumentType()) {
+            long count = view.getTotal();
+            statuses.merge(view.getStatus(), count, Long::sum);
+            if (view.getDocumentType() != null) {
+                documentTypes.merge(view.getDocumentType(), count, Long::sum);
+            }
+            rows += count;
+        }
+        byStatus.forEach((status, adder) -> reset(adder, statuses.getOrDefault(status, 0L)));
+        byDocumentType.forEach((documentType, adder) -> reset(adder, documentTypes.getOrDefault(documentType, 0L)));
+        reset(total, rows);
+        reconciledAt = Instant.now();
+    }
+
+    private static void reset(LongAdder adder, long value) {
+        adder.add(value - adder.sum());
+    }
+
+    // Dans une transaction, on ne compte qu'après le commit (un rollback ne laisse pas d'écart)
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
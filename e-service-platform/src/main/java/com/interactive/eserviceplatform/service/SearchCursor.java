@@ -0,0 +1,37 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position dans des résultats de recherche triés par (score desc, id desc) : le dernier résultat de la page précédente.
+ * Le score est transmis au bit près (il est recalculé à l'identique tant que l'index ne change pas).
+ * Jeton opaque (Base64 URL-safe), que le client renvoie tel quel.
+ */
+public record SearchCursor(double score, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = Long.toHexString(Double.doubleToLongBits(score)) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new SearchCursor(Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, separator), 16)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidPageRequestException("Invalid page token.");
+        }
+    }
+
+    // true si (score, id) vient après ce curseur dans l'ordre des résultats
+    public boolean precedes(double otherScore, long otherId) {
+        return otherScore < score || (otherScore == score && otherId < id);
+    }
+}
@@ -0,0 +1,224 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.RequestStatusHistory;
+import com.interactive.eserviceplatform.repository.RequestStatusHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Écriture différée (write-behind) de l'historique des statuts.
+ *
+ * Les transitions ne font aucun INSERT d'historique : après le commit, les lignes sont déposées dans une file
+ * bornée en mémoire, vidée par un thread dédié en lots (saveAll, une transaction par lot, INSERT groupés JDBC).
+ *
+ * Contre-pression : si la file est pleine, l'appelant attend au plus enqueue-timeout qu'une place se libère,
+ * puis écrit lui-même ses lignes (synchrone) : on ralentit les transitions plutôt que de perdre l'historique.
+ * Arrêt : le thread finit de vider la file (au plus shutdown-timeout) avant la fermeture du pool de connexions ;
+ * les lignes qui arrivent ensuite sont écrites directement. Seul un arrêt brutal de la JVM (kill -9, crash)
+ * perd les lignes encore en file (au plus buffer-size, requests.history.pending).
+ */
+@Component
+public class StatusHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusHistoryWriter.class);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final RequestStatusHistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<RequestStatusHistory> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutNanos;
+    private final long shutdownTimeoutMs;
+
+    private final Counter written;
+    private final Counter syncWrites;
+    private final Counter lost;
+    private final Timer flushes;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public StatusHistoryWriter(RequestStatusHistoryRepository historyRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${requests.history.buffer-size:10000}") int bufferSize,
+                               @Value("${requests.history.batch-size:500}") int batchSize,
+                               @Value("${requests.history.flush-interval-ms:200}") long flushIntervalMs,
+                               @Value("${requests.history.enqueue-timeout:PT1S}") Duration enqueueTimeout,
+                               @Value("${requests.history.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Toujours une transaction à part : l'écriture directe est faite depuis afterCommit, où la transaction
+        // de la transition est encore liée au thread (déjà validée : y participer, c'est ne jamais rien écrire)
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.shutdownTimeoutMs = shutdownTimeout.toMillis();
+        this.written = Counter.builder("requests.history.written")
+                .description("Status history rows inserted")
+                .register(meterRegistry);
+        this.syncWrites = Counter.builder("requests.history.sync-writes")
+                .description("Status history rows written by the caller because the buffer was full or the writer stopped")
+                .register(meterRegistry);
+        this.lost = Counter.builder("requests.history.lost")
+                .description("Status history rows dropped after repeated insert failures")
+                .register(meterRegistry);
+        this.flushes = Timer.builder("requests.history.flush")
+                .description("Duration of one batched status history insert")
+                .register(meterRegistry);
+        Gauge.builder("requests.history.pending", buffer, BlockingQueue::size)
+                .description("Status history rows waiting to be inserted")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "status-history-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Appelé avant la fermeture de l'EntityManagerFactory et du pool (dont ce composant dépend)
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Pas d'interruption : le thread voit running=false au plus tard après flush-interval-ms
+        running = false;
+        if (worker != null) {
+            worker.join(shutdownTimeoutMs);
+        }
+        // Ce que le thread n'a pas pu écrire à temps (ou arrivé entre-temps) est écrit ici
+        drainAndWrite();
+    }
+
+    // Ajoute des lignes après le commit de la transaction en cours (rien n'est historisé en cas de rollback)
+    public void append(List<RequestStatusHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entries);
+                }
+            });
+        } else {
+            enqueue(entries);
+        }
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    private void enqueue(List<RequestStatusHistory> entries) {
+        if (!running) {
+            writeNow(entries);
+            return;
+        }
+        long deadline = System.nanoTime() + enqueueTimeoutNanos;
+        for (int i = 0; i < entries.size(); i++) {
+            boolean queued;
+            try {
+                queued = buffer.offer(entries.get(i), Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                // File pleine : le reste est écrit par l'appelant (contre-pression)
+                writeNow(entries.subList(i, entries.size()));
+                return;
+            }
+        }
+    }
+
+    private void writeNow(List<RequestStatusHistory> entries) {
+        syncWrites.increment(entries.size());
+        write(new ArrayList<>(entries));
+    }
+
+    private void run() {
+        List<RequestStatusHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                RequestStatusHistory first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        drainAndWrite();
+    }
+
+    // Vide la file par lots (à l'arrêt)
+    private void drainAndWrite() {
+        List<RequestStatusHistory> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    // Un lot = une transaction ; en cas d'échec (base indisponible, ...) on réessaie avant d'abandonner le lot
+    private void write(List<RequestStatusHistory> entries) {
+        List<RequestStatusHistory> batch = entries;
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                List<RequestStatusHistory> rows = batch;
+                transactionTemplate.executeWithoutResult(tx -> historyRepository.saveAll(rows));
+                flushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    lost.increment(batch.size());
+                    log.error("Status history: {} rows dropped after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                // Les ids alloués par la tentative annulée ne sont pas réutilisés : nouvelles instances
+                batch = batch.stream().map(RequestStatusHistory::copy).toList();
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
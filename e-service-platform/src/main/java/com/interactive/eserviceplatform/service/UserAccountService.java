@@ -0,0 +1,123 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.ResourceNotFoundException;
+import com.interactive.eserviceplatform.model.Role;
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.repository.UserRepository;
+import com.interactive.eserviceplatform.security.RoleRegistry;
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import com.interactive.eserviceplatform.security.UserDetailsServiceImpl;
+import com.interactive.eserviceplatform.security.jwt.TokenVersionRegistry;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Toutes les modifications de comptes passent par ce service : c'est lui qui invalide
+ * le cache de UserDetailsServiceImpl et révoque les jetons quand c'est nécessaire.
+ * Le hachage BCrypt (lent) est fait AVANT d'ouvrir la transaction : aucune connexion JDBC
+ * n'est gardée pendant l'attente de l'exécuteur de hachage.
+ * Les rôles viennent de RoleRegistry : ni l'inscription ni le changement de rôles ne lisent la table roles.
+ */
+@Service
+public class UserAccountService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordEncoder encoder;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserAccountService(UserRepository userRepository, RoleRegistry roleRegistry, PasswordEncoder encoder,
+                              UserDetailsServiceImpl userDetailsService, TokenVersionRegistry tokenVersionRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.encoder = encoder;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 1. Inscription : crée l'utilisateur avec le rôle par défaut (ROLE_USER)
+    public User register(String username, String rawPassword) {
+        String encodedPassword = encoder.encode(rawPassword);
+        return transactionTemplate.execute(tx -> {
+            User user = new User(username, encodedPassword);
+
+            Role userRole = roleRegistry.find("ROLE_USER")
+                    .orElseThrow(() -> new RuntimeException("Error: Role not found. Please ensure ROLE_USER is in the database."));
+            user.setRoles(Collections.singleton(userRole));
+
+            User saved = userRepository.save(user);
+            // Première connexion servie par le cache de UserDetailsServiceImpl, sans relire la base
+            userDetailsService.cacheAfterCommit(UserDetailsImpl.build(saved));
+            return saved;
+        });
+    }
+
+    // 2. Changement de mot de passe : les jetons déjà émis sont révoqués
+    public void changePassword(Long userId, String newRawPassword) {
+        String encodedPassword = encoder.encode(newRawPassword);
+        transactionTemplate.executeWithoutResult(tx -> {
+            User user = findUser(userId);
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+            tokenVersionRegistry.revokeAllTokens(userId);
+            userDetailsService.evict(user.getUsername());
+        });
+    }
+
+    // 2bis. Rehachage transparent (appelé par Spring Security après un login réussi, quand le hash stocké
+    // a un coût BCrypt inférieur au coût configuré) : même mot de passe, les jetons restent valides
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + userDetails.getUsername()));
+        user.setPassword(newEncodedPassword);
+        User saved = userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
+        return UserDetailsImpl.build(saved);
+    }
+
+    // 3. Changement de rôles (ADMIN) : les rôles sont dans le JWT, les jetons déjà émis sont révoqués
+    @Transactional
+    public User changeRoles(Long userId, Set<String> roleNames) {
+        User user = findUser(userId);
+        Set<Role> roles = new HashSet<>();
+        for (String roleName : roleNames) {
+            roles.add(roleRegistry.find(roleName)
+                    .orElseThrow(() -> new ResourceNotFoundException("Role not found: " + roleName)));
+        }
+        user.setRoles(roles);
+        User saved = userRepository.save(user);
+        tokenVersionRegistry.revokeAllTokens(userId);
+        userDetailsService.evict(user.getUsername());
+        return saved;
+    }
+
+    // 4. Déconnexion globale : révoque tous les jetons de l'utilisateur
+    @Transactional
+    public void revokeTokens(Long userId) {
+        User user = findUser(userId);
+        tokenVersionRegistry.revokeAllTokens(userId);
+        userDetailsService.evict(user.getUsername());
+    }
+
+    private User findUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+    }
+}
@@ -0,0 +1,33 @@
+-- Schéma tel qu'il était créé par spring.jpa.hibernate.ddl-auto=update.
+-- Sur une base existante, cette version est marquée comme appliquée (baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255),
+    token_version INTEGER DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS service_requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    document_type VARCHAR(255),
+    title VARCHAR(255),
+    description VARCHAR(255),
+    birth_date DATE,
+    birth_place VARCHAR(255),
+    status VARCHAR(255),
+    created_at TIMESTAMP(6),
+    deadline TIMESTAMP(6)
+);
@@ -0,0 +1,44 @@
+-- 1. Colonne ajoutée par ddl-auto=update sur les bases créées avant la révocation des jetons
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER DEFAULT 0 NOT NULL;
+
+-- 2. Statut : texte libre -> code compact (voir RequestStatus, les codes ne sont jamais réutilisés)
+ALTER TABLE service_requests ADD COLUMN status_code SMALLINT;
+
+UPDATE service_requests SET status_code = CASE UPPER(TRIM(status))
+    WHEN 'DRAFT' THEN 0
+    WHEN 'SUBMITTED' THEN 1
+    WHEN 'APPROVED' THEN 2
+    WHEN 'REJECTED' THEN 3
+END;
+
+-- Un statut inconnu laisse status_code à NULL : la contrainte ci-dessous fait alors échouer la migration
+
+ALTER TABLE service_requests ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE service_requests DROP COLUMN status;
+
+-- 3. Type de document : texte libre -> code compact (voir DocumentType)
+-- Les valeurs non reconnues deviennent AUTRE (0)
+ALTER TABLE service_requests ADD COLUMN document_type_code SMALLINT;
+
+UPDATE service_requests SET document_type_code = CASE UPPER(TRIM(document_type))
+    WHEN 'CNI' THEN 1
+    WHEN 'CARTE IDENTITE' THEN 1
+    WHEN 'PASSEPORT' THEN 2
+    WHEN 'PERMIS' THEN 3
+    WHEN 'PERMIS DE CONDUIRE' THEN 3
+    ELSE 0
+END
+WHERE document_type IS NOT NULL;
+
+ALTER TABLE service_requests DROP COLUMN document_type;
+
+-- 4. createdAt sert de clé de pagination : il ne peut plus être NULL
+UPDATE service_requests SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE service_requests ALTER COLUMN created_at SET NOT NULL;
+
+-- 5. Index alignés sur les requêtes de RequestRepository
+-- Listes paginées par utilisateur / par statut : WHERE ... ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_service_requests_user_created ON service_requests (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_service_requests_status_created ON service_requests (status_code, created_at DESC, id DESC);
+-- Recherche des échéances par statut (ex : demandes SUBMITTED dont la deadline est dépassée)
+CREATE INDEX idx_service_requests_status_deadline ON service_requests (status_code, deadline);
@@ -0,0 +1,2 @@
+-- Colonne de verrou optimiste (@Version de Request), incrémentée par chaque transition de statut
+ALTER TABLE service_requests ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
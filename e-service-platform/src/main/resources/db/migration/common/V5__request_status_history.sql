@@ -0,0 +1,15 @@
+-- Historique des changements de statut des demandes (journal en ajout seul, voir StatusHistoryWriter).
+-- Pas de clé étrangère vers service_requests : les lignes sont écrites en différé, par lots, et ne sont jamais modifiées.
+CREATE SEQUENCE request_status_history_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE request_status_history (
+    id BIGINT PRIMARY KEY,
+    request_id BIGINT NOT NULL,
+    from_status_code SMALLINT,
+    to_status_code SMALLINT NOT NULL,
+    actor VARCHAR(255) NOT NULL,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
+
+-- GET /api/v1/requests/{id}/history : WHERE request_id = ? ORDER BY occurred_at, id
+CREATE INDEX idx_status_history_request ON request_status_history (request_id, occurred_at, id);
@@ -0,0 +1,8 @@
+-- Index du filtre multi-critères (GET /api/v1/requests/filter, voir RequestFilterPlan)
+-- Statut + type de document, du plus récent au plus ancien
+CREATE INDEX idx_service_requests_status_type_created ON service_requests (status_code, document_type_code, created_at DESC, id DESC);
+
+-- (status_code, deadline) -> (status_code, deadline, id) : les pages triées par (deadline, id)
+-- (filtre par échéance, RequestExpiryScheduler) sont lues dans l'ordre de l'index, sans tri
+DROP INDEX idx_service_requests_status_deadline;
+CREATE INDEX idx_service_requests_status_deadline ON service_requests (status_code, deadline, id);
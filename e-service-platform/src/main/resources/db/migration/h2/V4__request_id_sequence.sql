@@ -0,0 +1,2 @@
+-- Séquence des ids de service_requests (voir la version PostgreSQL) ; H2 ne sert qu'aux tests, sur une base vide.
+CREATE SEQUENCE service_requests_seq START WITH 1 INCREMENT BY 50;
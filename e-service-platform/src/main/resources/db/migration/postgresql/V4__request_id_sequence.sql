@@ -0,0 +1,4 @@
+-- Séquence des ids de service_requests, incrément 50 = allocationSize de Request (optimiseur "pooled").
+-- Le premier nextval doit valoir MAX(id) + 50 : Hibernate alloue alors la plage ]MAX(id), MAX(id) + 50].
+CREATE SEQUENCE service_requests_seq INCREMENT BY 50;
+SELECT setval('service_requests_seq', COALESCE((SELECT MAX(id) FROM service_requests), 0) + 50, false);
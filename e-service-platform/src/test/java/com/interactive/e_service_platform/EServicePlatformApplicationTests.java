@@ -1,9 +1,12 @@
 package com.interactive.e_service_platform;
 
+import com.interactive.eserviceplatform.EServicePlatformApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+@SpringBootTest(classes = EServicePlatformApplication.class)
+@ActiveProfiles("test")
 class EServicePlatformApplicationTests {
 
 	@Test
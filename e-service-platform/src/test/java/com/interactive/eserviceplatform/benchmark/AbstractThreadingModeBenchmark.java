@@ -0,0 +1,179 @@
+package com.interactive.eserviceplatform.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.service.RequestService;
+import com.interactive.eserviceplatform.service.UserAccountService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comparaison threads plateforme / threads virtuels à forte concurrence (mvn test -Pbenchmark).
+ * Même scénario pour les deux modes : CLIENTS clients en boucle fermée sur la liste paginée d'un
+ * utilisateur (JWT + requête JDBC à chaque appel), après un échauffement.
+ * Mesures : débit, p50 / p99, pic de threads plateforme du serveur et pic de heap.
+ * Paramètres : -Dbenchmark.clients=400 -Dbenchmark.requests=40000
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Tag("benchmark")
+abstract class AbstractThreadingModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 200);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int WARMUP_REQUESTS = Math.max(1_000, REQUESTS / 10);
+    private static final String CLIENT_THREAD_PREFIX = "bench-client-";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserAccountService userAccountService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    protected abstract String mode();
+
+    @Test
+    void listRequestsUnderLoad() throws Exception {
+        String username = "bench-" + mode();
+        User user = userAccountService.register(username, "benchmark-password");
+        for (int i = 0; i < 200; i++) {
+            Request request = new Request();
+            request.setUserId(user.getId());
+            request.setTitle("Benchmark " + i);
+            requestService.createRequest(request);
+        }
+        String token = login(username, "benchmark-password");
+        HttpRequest call = HttpRequest.newBuilder(URI.create(baseUrl() + "/api/v1/requests/user/" + user.getId() + "?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        run(call, WARMUP_REQUESTS, new long[WARMUP_REQUESTS]);
+
+        long[] latencies = new long[REQUESTS];
+        Footprint footprint = new Footprint();
+        footprint.start();
+        long start = System.nanoTime();
+        int errors = run(call, REQUESTS, latencies);
+        long elapsed = System.nanoTime() - start;
+        footprint.stop();
+
+        Arrays.sort(latencies);
+        System.out.printf("[%s] clients=%d requests=%d throughput=%.0f req/s p50=%.2f ms p99=%.2f ms"
+                        + " peakPlatformThreads=%d peakHeap=%d MB errors=%d%n",
+                mode(), CLIENTS, REQUESTS, REQUESTS / (elapsed / 1e9),
+                latencies[REQUESTS / 2] / 1e6, latencies[(int) (REQUESTS * 0.99)] / 1e6,
+                footprint.peakThreads.get(), footprint.peakHeap.get() / (1024 * 1024), errors);
+        assertThat(errors).isZero();
+    }
+
+    // Boucle fermée : chaque client enchaîne les appels jusqu'à épuisement du nombre de requêtes
+    private int run(HttpRequest call, int requests, long[] latencies) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS,
+                runnable -> new Thread(runnable, CLIENT_THREAD_PREFIX + threadNumber.incrementAndGet()));
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    long begin = System.nanoTime();
+                    try {
+                        if (httpClient.send(call, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+        return errors.get();
+    }
+
+    private String login(String username, String password) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        JsonNode response = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return response.get("token").asText();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    // Échantillonne (toutes les 50 ms) les threads plateforme du serveur (hors clients du benchmark) et le heap
+    private static final class Footprint {
+        private final AtomicLong peakThreads = new AtomicLong();
+        private final AtomicLong peakHeap = new AtomicLong();
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private volatile boolean running = true;
+        private final Thread sampler = new Thread(this::sample, "bench-sampler");
+
+        void start() {
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            sampler.join();
+        }
+
+        private void sample() {
+            while (running) {
+                long threads = Thread.getAllStackTraces().keySet().stream()
+                        .filter(thread -> !thread.getName().startsWith(CLIENT_THREAD_PREFIX))
+                        .count();
+                peakThreads.accumulateAndGet(threads, Math::max);
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
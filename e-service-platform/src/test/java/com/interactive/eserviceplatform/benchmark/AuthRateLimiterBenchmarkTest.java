@@ -0,0 +1,79 @@
+package com.interactive.eserviceplatform.benchmark;
+
+import com.interactive.eserviceplatform.security.AuthRateLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coût propre du limiteur de /api/auth (mvn test -Pbenchmark), sans HTTP ni Spring.
+ * Deux scénarios, THREADS threads en parallèle :
+ * - "hot" : quelques IP réelles qui se disputent les mêmes emplacements (contention des compareAndSet) ;
+ * - "flood" : une IP et un nom d'utilisateur inventés par appel (mémoire constante : tables de taille fixe).
+ * Paramètres : -Dbenchmark.threads=16 -Dbenchmark.operations=5000000
+ */
+@Tag("benchmark")
+class AuthRateLimiterBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", Runtime.getRuntime().availableProcessors());
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 2_000_000);
+
+    @Test
+    void limiterOverhead() throws Exception {
+        AuthRateLimiter limiter = new AuthRateLimiter(65536, 20, 60, 5, 10, 32);
+        String[] hotKeys = {"10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.4"};
+
+        run("warmup", limiter, i -> hotKeys[i & 3]);
+        run("warmup", limiter, i -> "172.16." + (i >>> 8 & 255) + "." + (i & 255));
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        run("hot", limiter, i -> hotKeys[i & 3]);
+        run("flood", limiter, i -> "172.16." + (i >>> 8 & 255) + "." + (i & 255));
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("[auth-rate-limiter] retained heap delta after flood=%d KB%n", (heapAfter - heapBefore) / 1024);
+        assertThat(heapAfter - heapBefore).isLessThan(16L * 1024 * 1024);
+    }
+
+    private static void run(String scenario, AuthRateLimiter limiter, KeySource keys) throws InterruptedException {
+        LongAdder admitted = new LongAdder();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        int perThread = OPERATIONS / THREADS;
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * perThread;
+            new Thread(() -> {
+                long local = 0;
+                for (int i = offset; i < offset + perThread; i++) {
+                    String key = keys.key(i);
+                    if (limiter.tryAcquireIp(key) == 0 && limiter.tryAcquireUsername("user-" + key) == 0
+                            && limiter.tryEnter()) {
+                        limiter.exit();
+                        local++;
+                    }
+                }
+                admitted.add(local);
+                done.countDown();
+            }, "bench-limiter-" + t).start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        if (!"warmup".equals(scenario)) {
+            System.out.printf("[auth-rate-limiter] scenario=%s threads=%d operations=%d throughput=%.1f M checks/s"
+                            + " avg=%.0f ns/check admitted=%d%n",
+                    scenario, THREADS, perThread * THREADS, perThread * THREADS / (elapsed / 1e3),
+                    (double) elapsed * THREADS / (perThread * THREADS), admitted.sum());
+        }
+    }
+
+    @FunctionalInterface
+    private interface KeySource {
+        String key(int i);
+    }
+}
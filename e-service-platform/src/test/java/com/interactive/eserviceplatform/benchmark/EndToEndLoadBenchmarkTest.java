@@ -0,0 +1,331 @@
+package com.interactive.eserviceplatform.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.model.Role;
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import com.interactive.eserviceplatform.repository.RoleRepository;
+import com.interactive.eserviceplatform.repository.UserRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de charge de bout en bout (mvn test -Pbenchmark -Dtest=EndToEndLoadBenchmarkTest), sans PostgreSQL :
+ * l'application démarre sur la base H2 du profil "test" (mode PostgreSQL, migrations Flyway), puis
+ * USERS utilisateurs et REQUESTS demandes sont insérés directement en base.
+ *
+ * Modèle ouvert : les appels partent à un débit fixe (RATE par seconde), qu'ils aient fini ou non ;
+ * la latence est mesurée depuis l'heure de départ prévue (pas d'omission coordonnée quand le serveur ralentit).
+ * Répartition (MIX) entre login, create, submit (DRAFT -> SUBMITTED), approve (ADMIN) et list (page d'un utilisateur).
+ *
+ * Rapport : débit et percentiles HDR par endpoint (distributions complètes dans target/loadtest/*.hgrm).
+ * Le test échoue si un p99 dépasse son seuil ou si le taux d'erreur dépasse MAX_ERROR_RATE.
+ * Seuil p99 : loadtest.max-p99-ms, ou loadtest.max-p99-ms.<endpoint> (login, BCrypt oblige : 1000 ms par défaut).
+ * Paramètres : -Dloadtest.users=50 -Dloadtest.requests=2000 -Dloadtest.rate=200 -Dloadtest.duration=30
+ *              -Dloadtest.mix=login:5,create:20,submit:15,approve:10,list:50
+ *              -Dloadtest.max-p99-ms=500 -Dloadtest.max-p99-ms.login=1000 -Dloadtest.max-error-rate=0.01
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Tag("benchmark")
+// Toute la charge vient de 127.0.0.1 et d'un petit nombre de comptes : seuls les plafonds de l'application
+// (pool de hachage, plafond de requêtes d'authentification en cours) s'appliquent
+@TestPropertySource(properties = {
+    "security.auth-rate-limit.per-ip.burst=1000000",
+    "security.auth-rate-limit.per-ip.per-minute=1000000",
+    "security.auth-rate-limit.per-username.burst=1000000",
+    "security.auth-rate-limit.per-username.per-minute=1000000"
+})
+class EndToEndLoadBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 2_000);
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final String MIX = System.getProperty("loadtest.mix", "login:5,create:20,submit:15,approve:10,list:50");
+    private static final String MAX_P99_MS = System.getProperty("loadtest.max-p99-ms", "500");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private static final String PASSWORD = "loadtest-password";
+
+    private enum Operation { LOGIN, CREATE, SUBMIT, APPROVE, LIST }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Demandes disponibles pour les transitions (alimentées par le seed puis par create / submit)
+    private final ConcurrentLinkedQueue<Long> drafts = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> submitted = new ConcurrentLinkedQueue<>();
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final List<SeededUser> users = new ArrayList<>();
+    private String adminToken;
+
+    @Test
+    void mixedTrafficMeetsLatencyThresholds() throws Exception {
+        seed();
+        Operation[] schedule = schedule(MIX);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+
+        // Échauffement (JIT, pool de connexions, caches) : 10 % de la durée, non mesuré
+        drive(schedule, Math.max(1, DURATION_SECONDS / 10), false);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        long elapsed = drive(schedule, DURATION_SECONDS, true);
+
+        report(elapsed);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats endpoint = entry.getValue();
+            if (endpoint.histogram.getTotalCount() == 0) {
+                continue;
+            }
+            assertThat(endpoint.histogram.getValueAtPercentile(99) / 1000.0)
+                    .as("p99 (ms) of %s", entry.getKey()).isLessThanOrEqualTo(maxP99Millis(entry.getKey()));
+            assertThat((double) endpoint.errors.get() / endpoint.histogram.getTotalCount())
+                    .as("error rate of %s", entry.getKey()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+        }
+    }
+
+    private static double maxP99Millis(Operation operation) {
+        String name = operation.name().toLowerCase();
+        String fallback = operation == Operation.LOGIN ? "1000" : MAX_P99_MS;
+        return Double.parseDouble(System.getProperty("loadtest.max-p99-ms." + name, fallback));
+    }
+
+    // --- Données : USERS comptes (même hash BCrypt, calculé une fois) et REQUESTS demandes DRAFT ---
+    private void seed() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String hash = passwordEncoder.encode(PASSWORD);
+        Role userRole = roleRepository.findByName("ROLE_USER").orElseThrow();
+        List<User> accounts = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("load-" + runId + "-" + i, hash);
+            user.setRoles(Set.of(userRole));
+            accounts.add(user);
+        }
+        for (User user : userRepository.saveAll(accounts)) {
+            users.add(new SeededUser(user.getId(), user.getUsername(), login(user.getUsername(), PASSWORD)));
+        }
+        adminToken = login("admin", "adminpass");
+
+        List<Request> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            Request request = new Request();
+            request.setUserId(users.get(i % USERS).id());
+            request.setTitle("Demande " + i);
+            request.setDocumentType(DocumentType.values()[i % DocumentType.values().length]);
+            request.setStatus(RequestStatus.DRAFT);
+            request.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            requests.add(request);
+            if (requests.size() == 500 || i == REQUESTS - 1) {
+                requestRepository.saveAll(requests).forEach(saved -> drafts.add(saved.getId()));
+                requests.clear();
+            }
+        }
+        System.out.printf("[loadtest] seeded users=%d requests=%d%n", USERS, REQUESTS);
+    }
+
+    // Tirage pondéré : "login:5,create:20" -> tableau de 100 opérations
+    private static Operation[] schedule(String mix) {
+        List<Operation> slots = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            Operation operation = Operation.valueOf(entry[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(entry[1].trim()); i++) {
+                slots.add(operation);
+            }
+        }
+        return slots.toArray(new Operation[0]);
+    }
+
+    // Générateur à débit constant : l'appel n part à start + n / RATE, même si les précédents n'ont pas répondu
+    private long drive(Operation[] schedule, int seconds, boolean measured) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long total = (long) RATE * seconds;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long n = 0; n < total; n++) {
+            long intendedStart = start + n * interval;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            inFlight.add(fire(operation, intendedStart, measured));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).orTimeout(60, TimeUnit.SECONDS).join();
+        return System.nanoTime() - start;
+    }
+
+    private CompletableFuture<?> fire(Operation operation, long intendedStart, boolean measured) {
+        SeededUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        HttpRequest call;
+        Long id = null;
+        switch (operation) {
+            case LOGIN -> call = json("/api/auth/login", null)
+                    .POST(body(Map.of("username", user.username(), "password", PASSWORD))).build();
+            case CREATE -> call = json("/api/v1/requests", user.token())
+                    .POST(body(Map.of("userId", user.id(), "title", "Demande en charge", "documentType", "CNI"))).build();
+            case SUBMIT -> {
+                id = drafts.poll();
+                call = id == null ? null : json("/api/v1/requests/" + id + "/submit", user.token())
+                        .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            }
+            case APPROVE -> {
+                id = submitted.poll();
+                call = id == null ? null : json("/api/v1/requests/" + id + "/approve", adminToken)
+                        .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            }
+            default -> call = json("/api/v1/requests/user/" + user.id() + "?size=20", user.token()).GET().build();
+        }
+        if (call == null) {
+            // Plus de demande dans l'état voulu : l'arrivée est comptée comme une liste
+            return fire(Operation.LIST, intendedStart, measured);
+        }
+        Long transitioned = id;
+        return httpClient.sendAsync(call, HttpResponse.BodyHandlers.ofString()).handle((response, failure) -> {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            boolean ok = failure == null && response.statusCode() / 100 == 2;
+            if (ok) {
+                onSuccess(operation, transitioned, response.body());
+            }
+            if (measured) {
+                Stats endpoint = stats.get(operation);
+                endpoint.histogram.recordValue(Math.max(1, latencyMicros));
+                if (!ok) {
+                    endpoint.errors.incrementAndGet();
+                }
+            }
+            return null;
+        });
+    }
+
+    private void onSuccess(Operation operation, Long id, String body) {
+        try {
+            switch (operation) {
+                case CREATE -> drafts.add(objectMapper.readTree(body).get("id").asLong());
+                case SUBMIT -> submitted.add(id);
+                default -> { }
+            }
+        } catch (Exception ignored) {
+            // Corps illisible : la demande n'est simplement pas réutilisée
+        }
+    }
+
+    private void report(long elapsedNanos) throws Exception {
+        double seconds = elapsedNanos / 1e9;
+        Path directory = Path.of("target", "loadtest");
+        Files.createDirectories(directory);
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        System.out.printf("[loadtest] rate=%d/s duration=%ds mix=%s%n", RATE, DURATION_SECONDS, MIX);
+        System.out.printf("[loadtest] %-8s %8s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().histogram;
+            all.add(histogram);
+            errors += entry.getValue().errors.get();
+            printLine(entry.getKey().name().toLowerCase(), histogram, entry.getValue().errors.get(), seconds);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        printLine("all", all, errors, seconds);
+    }
+
+    private static void printLine(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("[loadtest] %-8s %8d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private String login(String username, String password) throws Exception {
+        HttpRequest request = json("/api/auth/login", null)
+                .POST(body(Map.of("username", username, "password", password))).build();
+        JsonNode response = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return response.get("token").asText();
+    }
+
+    private HttpRequest.Builder json(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(value));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record SeededUser(Long id, String username, String token) { }
+
+    // Latences en microsecondes (3 chiffres significatifs, plage ajustée automatiquement)
+    private static final class Stats {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,12 @@
+package com.interactive.eserviceplatform.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsBenchmarkTest extends AbstractThreadingModeBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,63 @@
+package com.interactive.eserviceplatform.benchmark;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.payload.response.ImportResponse;
+import com.interactive.eserviceplatform.service.RequestImportService;
+import com.interactive.eserviceplatform.service.RequestService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Débit de l'import NDJSON par tranches (mvn test -Pbenchmark) comparé au chemin unitaire
+ * (une transaction et un INSERT par demande). Paramètre : -Dbenchmark.rows=20000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "requests.import.chunk-size=500")
+@ActiveProfiles("test")
+class RequestImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestImportBenchmarkTest.class);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+
+    @Autowired
+    private RequestImportService requestImportService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Test
+    void chunkedImportOutpacesOneByOneCreation() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append("{\"userId\":8101,\"title\":\"Import ").append(i)
+                    .append("\",\"documentType\":\"PASSEPORT\",\"status\":\"SUBMITTED\"}\n");
+        }
+        ImportResponse response = requestImportService.importNdjson(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            Request request = new Request();
+            request.setUserId(8102L);
+            request.setTitle("Unitaire " + i);
+            requestService.createRequest(request);
+        }
+        long oneByOneMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        long oneByOneRowsPerSecond = ROWS * 1000L / oneByOneMs;
+
+        log.info("[import] rows={} chunked={} rows/s one-by-one={} rows/s",
+                ROWS, response.getRowsPerSecond(), oneByOneRowsPerSecond);
+        assertThat(response.getImported()).isEqualTo(ROWS);
+        assertThat(response.getRowsPerSecond()).isGreaterThan(oneByOneRowsPerSecond);
+    }
+}
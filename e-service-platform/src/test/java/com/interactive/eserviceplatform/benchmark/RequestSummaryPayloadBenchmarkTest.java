@@ -0,0 +1,75 @@
+package com.interactive.eserviceplatform.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import com.interactive.eserviceplatform.service.RequestService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+/**
+ * Coût d'une page de demandes (mvn test -Pbenchmark) : entités complètes contre projection RequestSummary,
+ * lecture et sérialisation JSON comprises. Paramètre : -Dbenchmark.rounds=1000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestSummaryPayloadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestSummaryPayloadBenchmarkTest.class);
+    private static final int PAGE_SIZE = 100;
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 200);
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void summaryPageVersusFullEntities() throws Exception {
+        long userId = 10002L;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Request request = new Request();
+            request.setUserId(userId);
+            request.setTitle("Renouvellement " + i);
+            request.setDocumentType(DocumentType.CNI);
+            request.setDescription("Perte du document lors d'un déménagement, ".repeat(5));
+            request.setBirthDate(LocalDate.of(1990, 1, 1));
+            request.setBirthPlace("Clermont-Ferrand");
+            requestService.createRequest(request);
+        }
+
+        int entitiesBytes = objectMapper.writeValueAsBytes(requestRepository.findAllByUserId(userId)).length;
+        int summariesBytes = objectMapper.writeValueAsBytes(requestService.getRequestsByUserId(userId, null, PAGE_SIZE)).length;
+        long entitiesNs = time(() -> objectMapper.writeValueAsBytes(requestRepository.findAllByUserId(userId)));
+        long summariesNs = time(() -> objectMapper.writeValueAsBytes(requestService.getRequestsByUserId(userId, null, PAGE_SIZE)));
+
+        log.info("[summary-payload] page={} entities={} bytes {} us/page, summaries={} bytes {} us/page",
+                PAGE_SIZE, entitiesBytes, entitiesNs / ROUNDS / 1000, summariesBytes, summariesNs / ROUNDS / 1000);
+    }
+
+    private static long time(Call call) throws Exception {
+        call.run(); // échauffement
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            call.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private interface Call {
+        Object run() throws Exception;
+    }
+}
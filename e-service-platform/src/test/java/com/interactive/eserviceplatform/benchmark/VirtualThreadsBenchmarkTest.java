@@ -0,0 +1,21 @@
+package com.interactive.eserviceplatform.benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Les threads virtuels demandent une JVM 21+ : le benchmark est ignoré sur une JVM plus ancienne
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsBenchmarkTest extends AbstractThreadingModeBenchmark {
+
+    @BeforeAll
+    static void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21+");
+    }
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
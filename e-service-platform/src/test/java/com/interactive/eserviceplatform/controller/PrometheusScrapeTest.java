@@ -0,0 +1,102 @@
+package com.interactive.eserviceplatform.controller;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import com.interactive.eserviceplatform.security.jwt.JwtUtils;
+import com.interactive.eserviceplatform.service.RequestService;
+import com.interactive.eserviceplatform.service.UserAccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chaîne de sécurité complète, serveur réel : la collecte Prometheus se fait sans jeton sur le port
+// d'administration, et n'est pas servie sur le port public
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PrometheusScrapeTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private UserAccountService userAccountService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void hotPathMetricsAreScrapedInPrometheusFormat() throws Exception {
+        User user = userAccountService.register("citoyen-metriques", "secret-pass");
+        Request request = new Request();
+        request.setUserId(user.getId());
+        request.setTitle("Métriques");
+        Long id = requestService.createRequest(request).getId();
+        requestService.submitRequest(id);
+
+        UserDetailsImpl principal = UserDetailsImpl.fromClaims(user.getId(), user.getUsername(),
+                List.of("ROLE_USER"), 0);
+        String token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        assertThat(get(port, "/api/v1/requests/" + id, token).statusCode()).isEqualTo(200);
+
+        // Les métriques HTTP sont enregistrées à la fin de l'échange : au plus 5 s d'attente
+        String scrape = scrape();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!scrape.contains("uri=\"/api/v1/requests/{id}\"") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            scrape = scrape();
+        }
+
+        assertThat(scrape)
+                .contains("requests_transitions_total{from=\"DRAFT\",outcome=\"applied\",to=\"SUBMITTED\"}")
+                .contains("requests_transition_duration_seconds_bucket{")
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/v1/requests/{id}\"")
+                .contains("http_server_sql_statements_count{method=\"GET\",uri=\"/api/v1/requests/{id}\"}")
+                .contains("jwt_verification_seconds_count")
+                .contains("hikaricp_connections_acquire_seconds_bucket{");
+    }
+
+    @Test
+    void publicPortDoesNotServeTheScrape() throws Exception {
+        assertThat(managementPort).isNotEqualTo(port);
+        assertThat(get(port, "/actuator/prometheus", null).statusCode()).isNotEqualTo(200);
+    }
+
+    private String scrape() throws Exception {
+        HttpResponse<String> response = get(managementPort, "/actuator/prometheus", null);
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.body();
+    }
+
+    private HttpResponse<String> get(int targetPort, String path, String token) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + targetPort + path));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
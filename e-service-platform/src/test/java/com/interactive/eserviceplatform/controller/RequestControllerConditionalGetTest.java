@@ -0,0 +1,53 @@
+package com.interactive.eserviceplatform.controller;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.service.RequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Filtres de sécurité désactivés : seul le comportement HTTP (ETag / 304) est vérifié ici
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class RequestControllerConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Test
+    void unchangedRequestGets304UntilItsStatusChanges() throws Exception {
+        Request request = new Request();
+        request.setUserId(11001L);
+        request.setTitle("Suivi");
+        Long id = requestService.createRequest(request).getId();
+
+        mockMvc.perform(get("/api/v1/requests/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        mockMvc.perform(get("/api/v1/requests/{id}", id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // La transition invalide l'entrée du cache : la nouvelle version est servie
+        requestService.submitRequest(id);
+
+        mockMvc.perform(get("/api/v1/requests/{id}", id).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.status").value("SUBMITTED"));
+    }
+}
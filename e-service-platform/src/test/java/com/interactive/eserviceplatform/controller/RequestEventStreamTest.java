@@ -0,0 +1,77 @@
+package com.interactive.eserviceplatform.controller;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import com.interactive.eserviceplatform.service.RequestService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Filtres de sécurité désactivés : le principal est posé directement dans le SecurityContext
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class RequestEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestService requestService;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ownerAndAdminReceiveStatusChanges() throws Exception {
+        long owner = 14001L;
+        MvcResult ownerStream = subscribe(UserDetailsImpl.fromClaims(owner, "citoyen", List.of("ROLE_USER"), 0));
+        MvcResult adminStream = subscribe(UserDetailsImpl.fromClaims(14002L, "agent", List.of("ROLE_ADMIN"), 0));
+        MvcResult otherStream = subscribe(UserDetailsImpl.fromClaims(14003L, "voisin", List.of("ROLE_USER"), 0));
+
+        Request request = new Request();
+        request.setUserId(owner);
+        request.setTitle("Suivi en direct");
+        Long id = requestService.createRequest(request).getId();
+        requestService.submitRequest(id);
+
+        String expected = "\"requestId\":" + id;
+        assertThat(awaitContent(ownerStream, expected)).contains("event:request-status").contains("\"to\":\"SUBMITTED\"");
+        assertThat(awaitContent(adminStream, expected)).contains("\"from\":\"DRAFT\"");
+        assertThat(otherStream.getResponse().getContentAsString()).doesNotContain(expected);
+    }
+
+    private MvcResult subscribe(UserDetailsImpl principal) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return mockMvc.perform(get("/api/v1/requests/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // Les événements sont écrits par les threads de diffusion : on attend leur arrivée (au plus 5 s)
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,126 @@
+package com.interactive.eserviceplatform.repository;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.request.RequestFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie, sur la base locale (H2 en mode PostgreSQL, schéma Flyway), que le SQL généré
+ * pour les méthodes de RequestRepository est servi par les index prévus et non par un parcours complet.
+ */
+// Tranche JPA seule : les régions du cache de second niveau (SecondLevelCacheConfiguration) ne sont pas créées
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.interactive.eserviceplatform.repository.SqlCapture",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class RequestRepositoryQueryPlanTest {
+
+    private static final short SUBMITTED = RequestStatus.SUBMITTED.getCode();
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearCapturedSql() {
+        SqlCapture.clear();
+    }
+
+    @Test
+    void userPagesUseUserCreatedIndex() {
+        requestRepository.findPageByUserId(1L, Limit.of(21));
+        assertThat(explain(SqlCapture.last(), 1L, 21)).contains("idx_service_requests_user_created");
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        requestRepository.findPageByUserIdAfter(1L, createdAt, 10L, Limit.of(21));
+        assertThat(explain(SqlCapture.last(), 1L, createdAt, createdAt, 10L, 21))
+                .contains("idx_service_requests_user_created");
+    }
+
+    // Le planificateur de H2 ne tient pas compte de l'ORDER BY pour départager les deux index
+    // (status_code, ...) : on vérifie ici l'accès par index sur status_code ; PostgreSQL choisit
+    // idx_service_requests_status_created, qui évite en plus le tri.
+    @Test
+    void statusPagesUseStatusIndex() {
+        requestRepository.findPageByStatus(RequestStatus.SUBMITTED, Limit.of(21));
+        assertThat(explain(SqlCapture.last(), SUBMITTED, 21)).contains("idx_service_requests_status_");
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        requestRepository.findPageByStatusAfter(RequestStatus.SUBMITTED, createdAt, 10L, Limit.of(21));
+        assertThat(explain(SqlCapture.last(), SUBMITTED, createdAt, createdAt, 10L, 21))
+                .contains("idx_service_requests_status_");
+    }
+
+    @Test
+    void unboundedListsAreIndexed() {
+        requestRepository.findAllSummariesByUserId(1L);
+        assertThat(explain(SqlCapture.last(), 1L)).contains("idx_service_requests_user_created");
+
+        requestRepository.findAllSummariesByStatus(RequestStatus.SUBMITTED);
+        assertThat(explain(SqlCapture.last(), SUBMITTED)).contains("idx_service_requests_status_");
+    }
+
+    // Filtre multi-critères : chaque plan est servi par l'index annoncé (première page, page suivante, comptage)
+    @Test
+    void filterPlansUseTheirIndex() {
+        LocalDateTime from = LocalDateTime.now().minusDays(30);
+        LocalDateTime to = LocalDateTime.now();
+
+        RequestFilter byUser = new RequestFilter();
+        byUser.setUserId(1L);
+        byUser.setStatus(RequestStatus.SUBMITTED);
+        assertThat(RequestFilterPlan.of(byUser)).isEqualTo(RequestFilterPlan.USER_CREATED);
+        requestRepository.findFiltered(byUser, RequestFilterPlan.USER_CREATED, to, 10L, 21);
+        assertThat(explain(SqlCapture.last(), 1L, SUBMITTED, to, to, 10L, 21))
+                .contains("idx_service_requests_user_created");
+
+        // Sans plage de création : sur une table vide, H2 choisit alors (status_code, created_at) pour la plage
+        RequestFilter byStatusAndType = new RequestFilter();
+        byStatusAndType.setStatus(RequestStatus.SUBMITTED);
+        byStatusAndType.setDocumentType(DocumentType.PASSEPORT);
+        assertThat(RequestFilterPlan.of(byStatusAndType)).isEqualTo(RequestFilterPlan.STATUS_TYPE_CREATED);
+        requestRepository.findFiltered(byStatusAndType, RequestFilterPlan.STATUS_TYPE_CREATED, null, null, 21);
+        assertThat(explain(SqlCapture.last(), SUBMITTED, DocumentType.PASSEPORT.getCode(), 21))
+                .contains("idx_service_requests_status_type_created");
+        requestRepository.countFilteredUpTo(byStatusAndType, RequestFilterPlan.STATUS_TYPE_CREATED, 10_001);
+        assertThat(explain(SqlCapture.last(), SUBMITTED, DocumentType.PASSEPORT.getCode(), 10_001))
+                .contains("idx_service_requests_status_type_created");
+
+        RequestFilter byDeadline = new RequestFilter();
+        byDeadline.setStatus(RequestStatus.SUBMITTED);
+        byDeadline.setDeadlineFrom(from);
+        byDeadline.setDeadlineTo(to);
+        assertThat(RequestFilterPlan.of(byDeadline)).isEqualTo(RequestFilterPlan.STATUS_DEADLINE);
+        requestRepository.findFiltered(byDeadline, RequestFilterPlan.STATUS_DEADLINE, from, 10L, 21);
+        assertThat(explain(SqlCapture.last(), SUBMITTED, from, to, from, from, 10L, 21))
+                .contains("idx_service_requests_status_deadline");
+
+        // Statut seul : même limite de H2 que statusPagesUseStatusIndex
+        RequestFilter byStatus = new RequestFilter();
+        byStatus.setStatus(RequestStatus.SUBMITTED);
+        byStatus.setCreatedTo(to);
+        assertThat(RequestFilterPlan.of(byStatus)).isEqualTo(RequestFilterPlan.STATUS_CREATED);
+        requestRepository.findFiltered(byStatus, RequestFilterPlan.STATUS_CREATED, null, null, 21);
+        assertThat(explain(SqlCapture.last(), SUBMITTED, to, 21)).contains("idx_service_requests_status_");
+    }
+
+    private String explain(String sql, Object... params) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params)).toLowerCase();
+    }
+}
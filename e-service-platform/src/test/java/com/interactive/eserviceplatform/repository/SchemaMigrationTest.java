@@ -0,0 +1,47 @@
+package com.interactive.eserviceplatform.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie la conversion des lignes existantes (statut et type de document en texte libre)
+ * vers les codes compacts par la migration V2.
+ */
+class SchemaMigrationTest {
+
+    @Test
+    void v2ConvertsExistingRowsToCodes() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration_test;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // 1. Schéma historique (ddl-auto=update) avec des lignes en texte libre
+        flyway(dataSource).target("1").load().migrate();
+        jdbc.update("INSERT INTO service_requests (id, user_id, document_type, status, created_at) VALUES (1, 7, 'PASSEPORT', 'SUBMITTED', CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO service_requests (id, user_id, document_type, status, created_at) VALUES (2, 7, 'carte identite', 'APPROVED', NULL)");
+        jdbc.update("INSERT INTO service_requests (id, user_id, document_type, status) VALUES (3, 8, 'Acte de naissance', 'DRAFT')");
+
+        // 2. Migration vers les codes compacts
+        flyway(dataSource).load().migrate();
+
+        assertThat(codes(jdbc, 1)).containsExactly(1, 2);
+        assertThat(codes(jdbc, 2)).containsExactly(2, 1);
+        assertThat(codes(jdbc, 3)).containsExactly(0, 0);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM service_requests WHERE created_at IS NULL", Long.class)).isZero();
+    }
+
+    private static FluentConfiguration flyway(JdbcDataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common", "classpath:db/migration/h2");
+    }
+
+    // (status_code, document_type_code) de la ligne
+    private static int[] codes(JdbcTemplate jdbc, long id) {
+        return jdbc.queryForObject("SELECT status_code, document_type_code FROM service_requests WHERE id = ?",
+                (rs, rowNum) -> new int[] { rs.getInt(1), rs.getInt(2) }, id);
+    }
+}
@@ -0,0 +1,47 @@
+package com.interactive.eserviceplatform.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StatementInspector de test : retient le SQL généré par Hibernate pour pouvoir en
+ * demander le plan d'exécution (EXPLAIN) à la base, ou vérifier les tables lues par le thread courant.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    // Les tâches planifiées exécutent aussi du SQL pendant les tests : instructions du thread courant seules
+    private static final ThreadLocal<List<String>> CURRENT_THREAD = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        CURRENT_THREAD.get().add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        CURRENT_THREAD.get().clear();
+    }
+
+    public static List<String> ofCurrentThread() {
+        return List.copyOf(CURRENT_THREAD.get());
+    }
+
+    public static String last() {
+        synchronized (STATEMENTS) {
+            if (STATEMENTS.isEmpty()) {
+                throw new IllegalStateException("No SQL statement captured");
+            }
+            return STATEMENTS.get(STATEMENTS.size() - 1);
+        }
+    }
+}
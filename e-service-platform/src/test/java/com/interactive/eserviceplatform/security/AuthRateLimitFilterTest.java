@@ -0,0 +1,89 @@
+package com.interactive.eserviceplatform.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 429 + Retry-After par IP, par nom d'utilisateur et au-delà du plafond global, sans atteindre le contrôleur.
+ */
+class AuthRateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitsEachAddressAndReplaysTheBodyToTheController() throws Exception {
+        // 3 requêtes en rafale par IP, puis 1 par minute
+        AuthRateLimitFilter filter = filter(new AuthRateLimiter(1024, 3, 1, 100, 100, 10));
+
+        for (int i = 0; i < 3; i++) {
+            AtomicReference<String> seenBody = new AtomicReference<>();
+            MockHttpServletResponse response = call(filter, "10.0.0.1", "user" + i,
+                    (request, ignored) -> seenBody.set(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(seenBody.get()).contains("\"user" + i + "\"");
+        }
+
+        MockHttpServletResponse rejected = call(filter, "10.0.0.1", "user4", new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(1L, 60L);
+        assertThat(rejected.getContentAsString()).contains("error");
+
+        // Une autre adresse a son propre seau
+        assertThat(call(filter, "10.0.0.2", "user4", new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("auth.ratelimit.rejected").tag("reason", "ip").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void limitsEachUsernameAcrossAddresses() throws Exception {
+        AuthRateLimitFilter filter = filter(new AuthRateLimiter(1024, 100, 100, 2, 1, 10));
+
+        assertThat(call(filter, "10.0.0.1", "alice", new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(call(filter, "10.0.0.2", "alice", new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(call(filter, "10.0.0.3", "alice", new MockFilterChain()).getStatus()).isEqualTo(429);
+        assertThat(call(filter, "10.0.0.3", "bob", new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void rejectsWhenTooManyAuthenticationsAreInProgress() throws Exception {
+        AuthRateLimiter limiter = new AuthRateLimiter(1024, 100, 100, 100, 100, 1);
+        AuthRateLimitFilter filter = filter(limiter);
+
+        // Une authentification occupe la seule place pendant qu'une seconde arrive
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        MockHttpServletResponse first = call(filter, "10.0.0.1", "alice",
+                (request, response) -> nested.set(call(filter, "10.0.0.2", "bob", new MockFilterChain())));
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(nested.get().getStatus()).isEqualTo(429);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("1");
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private AuthRateLimitFilter filter(AuthRateLimiter limiter) {
+        return new AuthRateLimitFilter(limiter, new ObjectMapper(), meterRegistry, true, 8192, 1);
+    }
+
+    private static MockHttpServletResponse call(AuthRateLimitFilter filter, String ip, String username, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
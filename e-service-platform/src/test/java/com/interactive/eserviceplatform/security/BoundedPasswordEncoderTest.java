@@ -0,0 +1,73 @@
+package com.interactive.eserviceplatform.security;
+
+import com.interactive.eserviceplatform.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * File de hachage pleine -> rejet immédiat (429), et détection des hashes à recalculer après une hausse du coût BCrypt.
+ */
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+
+        // 1 thread de hachage, 1 place dans la file
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 2, meterRegistry)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            while (meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.matches("third", "$2a$04$invalid"))
+                    .isInstanceOf(PasswordHashingBusyException.class)
+                    .extracting(e -> ((PasswordHashingBusyException) e).getRetryAfterSeconds())
+                    .isEqualTo(2);
+            assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1.0);
+
+            release.countDown();
+            assertThat(slowEncoder.matches("first", running.get(5, TimeUnit.SECONDS))).isTrue();
+            assertThat(slowEncoder.matches("second", queued.get(5, TimeUnit.SECONDS))).isTrue();
+        }
+    }
+
+    @Test
+    void flagsHashesWithALowerCostForRehash() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, 1,
+                new SimpleMeterRegistry())) {
+            assertThat(encoder.matches("secret", oldHash)).isTrue();
+            assertThat(encoder.upgradeEncoding(oldHash)).isTrue();
+
+            String newHash = encoder.encode("secret");
+            assertThat(newHash).startsWith("$2a$05$");
+            assertThat(encoder.upgradeEncoding(newHash)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.interactive.eserviceplatform.security;
+
+import com.interactive.eserviceplatform.repository.SqlCapture;
+import com.interactive.eserviceplatform.service.UserAccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inscription et connexion sans lecture de la table roles (RoleRegistry, cache des UserDetails),
+ * puis rechargement d'un compte depuis le cache de second niveau sans aucune requête.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.interactive.eserviceplatform.repository.SqlCapture")
+@ActiveProfiles("test")
+class UserAccountCacheTest {
+
+    @Autowired
+    private UserAccountService userAccountService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Test
+    void signupAndLoginRunNoRoleQuery() {
+        SqlCapture.clear();
+
+        userAccountService.register("cache-signup", "secret-pass");
+        Authentication authentication = login("cache-signup");
+
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+        // Les seules écritures sont les insertions dans users et user_roles : aucune lecture des rôles
+        assertThat(SqlCapture.ofCurrentThread()).noneMatch(sql -> sql.startsWith("select") && sql.contains("roles"));
+    }
+
+    @Test
+    void reloadsAnEvictedAccountFromTheSecondLevelCache() {
+        userAccountService.register("cache-reload", "secret-pass");
+        // Premier chargement depuis la base : remplit les régions users, users.roles et le cache de requêtes
+        userDetailsService.evict("cache-reload");
+        login("cache-reload");
+
+        userDetailsService.evict("cache-reload");
+        SqlCapture.clear();
+        Authentication authentication = login("cache-reload");
+
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+        assertThat(SqlCapture.ofCurrentThread()).isEmpty();
+    }
+
+    @Test
+    void createdRolesAreVisibleAfterCommit() {
+        assertThat(roleRegistry.find("ROLE_ADMIN")).isPresent();
+
+        roleRegistry.findOrCreate("ROLE_AUDITOR");
+
+        assertThat(roleRegistry.find("ROLE_AUDITOR")).hasValueSatisfying(role -> assertThat(role.getId()).isNotNull());
+    }
+
+    private Authentication login(String username) {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, "secret-pass"));
+    }
+}
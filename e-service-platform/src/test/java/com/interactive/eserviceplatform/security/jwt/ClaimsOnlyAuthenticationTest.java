@@ -0,0 +1,128 @@
+package com.interactive.eserviceplatform.security.jwt;
+
+import com.interactive.eserviceplatform.model.User;
+import com.interactive.eserviceplatform.repository.UserRepository;
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mode "claims-only" : principal construit depuis le jeton, jetons révoqués refusés (version "ver" périmée),
+ * repli sur la base pour les jetons sans "uid", révocations faites par une autre instance vues au rafraîchissement.
+ */
+@SpringBootTest(properties = "security.jwt.claims-only=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClaimsOnlyAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${security.jwt.secret}")
+    private String secret;
+
+    @Test
+    void revokedTokenVersionIsRejected() throws Exception {
+        User user = userRepository.save(new User("claims-revoked", "secret-pass"));
+        String token = token(user, 0);
+        call(user, token, status().isOk());
+
+        tokenVersionRegistry.revokeAllTokens(user.getId());
+
+        call(user, token, status().isUnauthorized());
+        call(user, token(user, 1), status().isOk());
+    }
+
+    @Test
+    void tokenWithoutUserIdFallsBackToTheDatabase() throws Exception {
+        User user = userRepository.save(new User("claims-legacy", "secret-pass"));
+
+        // La version connue en base s'applique aussi aux anciens jetons (sans "uid")
+        tokenVersionRegistry.revokeAllTokens(user.getId());
+
+        call(user, legacyToken(user.getUsername(), 0), status().isUnauthorized());
+        call(user, legacyToken(user.getUsername(), 1), status().isOk());
+    }
+
+    @Test
+    void refreshPicksUpRevocationsFromAnotherInstance() {
+        User user = userRepository.save(new User("claims-remote", "secret-pass"));
+
+        // Révocation faite par une autre instance : seule la base change
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(tx -> userRepository.incrementTokenVersion(user.getId()));
+        assertThat(tokenVersionRegistry.isCurrent(user.getId(), 0)).isTrue();
+
+        tokenVersionRegistry.refresh();
+
+        assertThat(tokenVersionRegistry.isCurrent(user.getId(), 0)).isFalse();
+        assertThat(tokenVersionRegistry.isCurrent(user.getId(), 1)).isTrue();
+    }
+
+    @Test
+    void rolledBackRevocationIsNotRemembered() {
+        User user = userRepository.save(new User("claims-rollback", "secret-pass"));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            tokenVersionRegistry.revokeAllTokens(user.getId());
+            tx.setRollbackOnly();
+        });
+
+        assertThat(tokenVersionRegistry.isCurrent(user.getId(), 0)).isTrue();
+    }
+
+    private void call(User user, String token, ResultMatcher expected) throws Exception {
+        mockMvc.perform(get("/api/v1/requests/user/{userId}", user.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(expected);
+    }
+
+    private String token(User user, int tokenVersion) {
+        UserDetailsImpl principal = UserDetailsImpl.fromClaims(user.getId(), user.getUsername(),
+                List.of("ROLE_USER"), tokenVersion);
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // Jeton émis avant l'ajout du claim "uid"
+    private String legacyToken(String username, int tokenVersion) {
+        return Jwts.builder()
+                .setSubject(username)
+                .claim(JwtUtils.ROLES_CLAIM, List.of("ROLE_USER"))
+                .claim(JwtUtils.TOKEN_VERSION_CLAIM, tokenVersion)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
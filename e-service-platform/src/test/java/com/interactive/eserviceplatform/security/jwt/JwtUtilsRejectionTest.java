@@ -0,0 +1,84 @@
+package com.interactive.eserviceplatform.security.jwt;
+
+import com.interactive.eserviceplatform.security.UserDetailsImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chaque jeton invalide est refusé et classé (jwt.rejected{reason}) par les vérifications préalables,
+ * sans passer par les exceptions de jjwt ; un jeton valide est toujours accepté.
+ */
+class JwtUtilsRejectionTest {
+
+    private static final String SECRET = "test_secret_key_for_jwt_rejection_test_only_0123456789_0123456789_0123";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtUtils jwtUtils = jwtUtils(86_400_000);
+
+    @Test
+    void validTokenIsAccepted() {
+        String token = jwtUtils.generateJwtToken(authentication());
+
+        assertThat(token).startsWith(JwtPreVerifier.HS512_HEADER + ".");
+        assertThat(jwtUtils.verifyJwtToken(token)).get().extracting(VerifiedJwt::username).isEqualTo("citoyen");
+        assertThat(rejected("other")).isZero();
+    }
+
+    @Test
+    void invalidTokensAreClassifiedWithoutReachingJjwt() {
+        String token = jwtUtils.generateJwtToken(authentication());
+        String[] parts = token.split("\\.");
+
+        assertThat(jwtUtils.validateJwtToken("garbage")).isFalse();
+        assertThat(jwtUtils.validateJwtToken("a.b.c.d")).isFalse();
+        assertThat(jwtUtils.validateJwtToken(parts[0] + ".%%%." + parts[2])).isFalse();
+        assertThat(rejected("malformed")).isEqualTo(3.0);
+
+        String hs256 = Jwts.builder().setSubject("citoyen").setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertThat(jwtUtils.validateJwtToken(hs256)).isFalse();
+        assertThat(jwtUtils.validateJwtToken("eyJhbGciOiJub25lIn0." + parts[1] + ".")).isFalse();
+        assertThat(rejected("algorithm")).isEqualTo(2.0);
+
+        String tampered = parts[0] + "." + parts[1] + "." + (parts[2].charAt(0) == 'A' ? 'B' : 'A') + parts[2].substring(1);
+        assertThat(jwtUtils.validateJwtToken(tampered)).isFalse();
+        assertThat(jwtUtils.validateJwtToken(jwtUtils(86_400_000, "another_secret_key_of_the_same_length_0123456789_0123456789_0123456")
+                .generateJwtToken(authentication()))).isFalse();
+        assertThat(rejected("signature")).isEqualTo(2.0);
+
+        assertThat(jwtUtils.validateJwtToken(jwtUtils(-60_000).generateJwtToken(authentication()))).isFalse();
+        assertThat(rejected("expired")).isEqualTo(1.0);
+
+        assertThat(rejected("other")).isZero();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("jwt.rejected").tag("reason", reason).counter().count();
+    }
+
+    private JwtUtils jwtUtils(int expirationMs) {
+        return jwtUtils(expirationMs, SECRET);
+    }
+
+    private JwtUtils jwtUtils(int expirationMs, String secret) {
+        return new JwtUtils(secret, expirationMs, 100, Duration.ofMinutes(5), meterRegistry, new TokenRejectionLog(meterRegistry));
+    }
+
+    private static Authentication authentication() {
+        UserDetailsImpl principal = UserDetailsImpl.fromClaims(16001L, "citoyen", List.of("ROLE_USER"), 0);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
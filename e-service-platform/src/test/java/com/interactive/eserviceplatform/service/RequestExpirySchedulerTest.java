@@ -0,0 +1,73 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestExpirySchedulerTest {
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Test
+    void expiresOverdueRequestsAfterRestartThenUpcomingOnesFromTheHeap() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Long overdue = submitted(now.minusMinutes(5));
+        Long upcoming = submitted(now.plusSeconds(2));
+        Long approved = submitted(now.minusMinutes(5));
+        requestService.approveRequest(approved);
+        Long draft = requestService.createRequest(newRequest(now.minusMinutes(5))).getId();
+
+        // Nouvelle instance = redémarrage : rien en mémoire, tout est relu depuis la base
+        RequestExpiryScheduler scheduler = new RequestExpiryScheduler(requestRepository, requestService,
+                new SimpleMeterRegistry(), Duration.ofHours(1), 1000, 10);
+        scheduler.refill();
+
+        assertThat(statusOf(overdue)).isEqualTo(RequestStatus.EXPIRED);
+        assertThat(statusOf(upcoming)).isEqualTo(RequestStatus.SUBMITTED);
+        assertThat(statusOf(approved)).isEqualTo(RequestStatus.APPROVED);
+        assertThat(statusOf(draft)).isEqualTo(RequestStatus.DRAFT);
+
+        Thread.sleep(Duration.between(LocalDateTime.now(), now.plusSeconds(2)).toMillis() + 100);
+        scheduler.fireDue();
+        assertThat(statusOf(upcoming)).isEqualTo(RequestStatus.EXPIRED);
+
+        // Rejouer ne change plus rien (pas de double expiration : la version n'est incrémentée qu'une fois)
+        scheduler.refill();
+        scheduler.fireDue();
+        assertThat(requestRepository.findById(overdue).orElseThrow().getVersion()).isEqualTo(2);
+    }
+
+    private Long submitted(LocalDateTime deadline) {
+        Long id = requestService.createRequest(newRequest(deadline)).getId();
+        requestService.submitRequest(id);
+        return id;
+    }
+
+    private RequestStatus statusOf(Long id) {
+        return requestRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private static Request newRequest(LocalDateTime deadline) {
+        Request request = new Request();
+        request.setUserId(13001L);
+        request.setTitle("Échéance");
+        request.setDeadline(deadline);
+        return request;
+    }
+}
@@ -0,0 +1,57 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestExportServiceTest {
+
+    @Autowired
+    private RequestExportService requestExportService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Test
+    void writesOneLinePerRequestNewestFirst() throws Exception {
+        long userId = 9001L;
+        for (int i = 0; i < 1200; i++) {
+            requestService.createRequest(newRequest(userId, "Demande " + i));
+        }
+        requestService.createRequest(newRequest(userId, "Titre, avec \"guillemets\""));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long count = requestExportService.exportByUserId(userId, ExportFormat.NDJSON, ndjson);
+
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(1201);
+        assertThat(lines).hasSize(1201);
+        assertThat(lines[0]).contains("\"userId\":9001").contains("\"documentType\":\"PASSEPORT\"");
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        requestExportService.exportByUserId(userId, ExportFormat.CSV, csv);
+
+        String[] rows = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).hasSize(1202);
+        assertThat(rows[0]).startsWith("id,userId,documentType,title");
+        assertThat(rows[1]).contains(",\"Titre, avec \"\"guillemets\"\"\",");
+    }
+
+    private static Request newRequest(long userId, String title) {
+        Request request = new Request();
+        request.setUserId(userId);
+        request.setTitle(title);
+        request.setDocumentType(DocumentType.PASSEPORT);
+        return request;
+    }
+}
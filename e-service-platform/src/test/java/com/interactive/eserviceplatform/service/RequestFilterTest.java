@@ -0,0 +1,115 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.InvalidFilterRequestException;
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.request.RequestFilter;
+import com.interactive.eserviceplatform.payload.response.FilterPageResponse;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "requests.filter.count-cap=4")
+@ActiveProfiles("test")
+class RequestFilterTest {
+
+    // Échéances lointaines : le moteur d'échéances ne touche pas à ces demandes
+    private static final LocalDateTime DEADLINES = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Autowired
+    private RequestService requestService;
+
+    @Test
+    void combinesCriteriaAndPaginatesByUser() {
+        long userId = 24001L;
+        List<Long> passports = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            passports.add(create(userId, DocumentType.PASSEPORT, DEADLINES.plusDays(i)));
+        }
+        create(userId, DocumentType.CNI, DEADLINES);
+        requestService.submitRequest(passports.get(0));
+
+        RequestFilter filter = new RequestFilter();
+        filter.setUserId(userId);
+        filter.setStatus(RequestStatus.DRAFT);
+        filter.setDocumentType(DocumentType.PASSEPORT);
+
+        FilterPageResponse first = requestService.filterRequests(filter, null, 3);
+        assertThat(first.getApproximateCount()).isEqualTo(4L);
+        assertThat(first.getCountExact()).isTrue();
+        FilterPageResponse second = requestService.filterRequests(filter, first.getNextPageToken(), 3);
+        assertThat(second.getNextPageToken()).isNull();
+        assertThat(second.getApproximateCount()).isNull();
+
+        List<Long> seen = new ArrayList<>(ids(first));
+        seen.addAll(ids(second));
+        // Du plus récent au plus ancien
+        assertThat(seen).containsExactly(passports.get(4), passports.get(3), passports.get(2), passports.get(1));
+    }
+
+    @Test
+    void pagesByDeadlineAndCapsTheCount() {
+        List<Long> submitted = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Long id = create(24002L, DocumentType.PERMIS, DEADLINES.plusYears(1).plusHours(6 - i));
+            requestService.submitRequest(id);
+            submitted.add(id);
+        }
+
+        RequestFilter filter = new RequestFilter();
+        filter.setStatus(RequestStatus.SUBMITTED);
+        filter.setDeadlineFrom(DEADLINES.plusYears(1));
+        filter.setDeadlineTo(DEADLINES.plusYears(1).plusDays(1));
+
+        FilterPageResponse first = requestService.filterRequests(filter, null, 4);
+        // Plus de 4 résultats : le compte s'arrête au plafond
+        assertThat(first.getApproximateCount()).isEqualTo(4L);
+        assertThat(first.getCountExact()).isFalse();
+        FilterPageResponse second = requestService.filterRequests(filter, first.getNextPageToken(), 4);
+
+        List<Long> seen = new ArrayList<>(ids(first));
+        seen.addAll(ids(second));
+        // Par échéance croissante (la dernière créée a l'échéance la plus proche)
+        Collections.reverse(submitted);
+        assertThat(seen).containsExactlyElementsOf(submitted);
+    }
+
+    @Test
+    void rejectsCombinationsWithoutIndex() {
+        RequestFilter byType = new RequestFilter();
+        byType.setDocumentType(DocumentType.CNI);
+        assertThatThrownBy(() -> requestService.filterRequests(byType, null, 20))
+                .isInstanceOf(InvalidFilterRequestException.class);
+
+        RequestFilter deadlineAndType = new RequestFilter();
+        deadlineAndType.setStatus(RequestStatus.SUBMITTED);
+        deadlineAndType.setDocumentType(DocumentType.CNI);
+        deadlineAndType.setDeadlineTo(DEADLINES);
+        assertThatThrownBy(() -> requestService.filterRequests(deadlineAndType, null, 20))
+                .isInstanceOf(InvalidFilterRequestException.class);
+    }
+
+    private Long create(long userId, DocumentType documentType, LocalDateTime deadline) {
+        Request request = new Request();
+        request.setUserId(userId);
+        request.setTitle("Filtre");
+        request.setDocumentType(documentType);
+        request.setDeadline(deadline);
+        return requestService.createRequest(request).getId();
+    }
+
+    private static List<Long> ids(FilterPageResponse page) {
+        return page.getItems().stream().map(RequestSummary::getId).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.InvalidBulkRequestException;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.model.RequestStatusHistory;
+import com.interactive.eserviceplatform.payload.response.ImportResponse;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import com.interactive.eserviceplatform.repository.RequestStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "requests.import.chunk-size=500")
+@ActiveProfiles("test")
+class RequestImportServiceTest {
+
+    private static final int ROWS = 5000;
+
+    @Autowired
+    private RequestImportService requestImportService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestStatusHistoryRepository historyRepository;
+
+    // Les ids envoyés sont ignorés (toujours une insertion), le statut DRAFT/SUBMITTED fourni est conservé
+    @Test
+    void importsInChunksIgnoringClientIds() throws Exception {
+        long userId = 8001L;
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append("{\"id\":42,\"userId\":").append(userId)
+                    .append(",\"title\":\"Import ").append(i)
+                    .append("\",\"documentType\":\"PASSEPORT\",\"status\":\"SUBMITTED\"}\n");
+        }
+
+        ImportResponse response = requestImportService.importNdjson(stream(ndjson.toString()));
+
+        assertThat(response.getImported()).isEqualTo(ROWS);
+        assertThat(response.getChunks()).isEqualTo(ROWS / 500);
+        assertThat(requestRepository.findAllByUserId(userId))
+                .hasSize(ROWS)
+                .allSatisfy(request -> {
+                    assertThat(request.getStatus()).isEqualTo(RequestStatus.SUBMITTED);
+                    assertThat(request.getVersion()).isZero();
+                });
+    }
+
+    // Une première ligne d'historique par demande importée, datée de sa création
+    @Test
+    void recordsInitialHistoryOfImportedRows() throws Exception {
+        String ndjson = "{\"userId\":8002,\"title\":\"brouillon\"}\n"
+                + "{\"userId\":8002,\"title\":\"soumise\",\"status\":\"SUBMITTED\","
+                + "\"createdAt\":\"2020-03-01T10:00:00\"}\n";
+
+        requestImportService.importNdjson(stream(ndjson));
+
+        for (Request request : requestRepository.findAllByUserId(8002L)) {
+            List<RequestStatusHistory> history = awaitHistory(request.getId());
+            assertThat(history).singleElement().satisfies(row -> {
+                assertThat(row.getFromStatus()).isNull();
+                assertThat(row.getToStatus()).isEqualTo(request.getStatus());
+                assertThat(row.getActor()).isEqualTo("system");
+                assertThat(row.getOccurredAt()).isEqualTo(request.getCreatedAt());
+            });
+        }
+        assertThat(requestRepository.findAllByUserId(8002L))
+                .extracting(Request::getCreatedAt)
+                .contains(LocalDateTime.of(2020, 3, 1, 10, 0));
+    }
+
+    @Test
+    void reportsLineOfFirstInvalidRow() {
+        String ndjson = "{\"userId\":8003,\"title\":\"ok\"}\n"
+                + "{\"userId\":8003,\"title\":\"ok\"}\n"
+                + "{\"userId\":8003,\"documentType\":\"INCONNU\"}\n";
+
+        assertThatThrownBy(() -> requestImportService.importNdjson(stream(ndjson)))
+                .isInstanceOf(InvalidBulkRequestException.class)
+                .hasMessageStartingWith("Line 3");
+        // La tranche incomplète n'est pas validée
+        assertThat(requestRepository.findAllByUserId(8003L)).isEmpty();
+    }
+
+    @Test
+    void rejectsDecidedStatuses() {
+        String ndjson = "{\"userId\":8004,\"title\":\"ok\",\"status\":\"SUBMITTED\"}\n"
+                + "{\"userId\":8004,\"title\":\"decidee\",\"status\":\"APPROVED\"}\n";
+
+        assertThatThrownBy(() -> requestImportService.importNdjson(stream(ndjson)))
+                .isInstanceOf(InvalidBulkRequestException.class)
+                .hasMessageStartingWith("Row 2: status APPROVED");
+        assertThat(requestRepository.findAllByUserId(8004L)).isEmpty();
+    }
+
+    // Écriture différée de l'historique : au plus 5 s d'attente
+    private List<RequestStatusHistory> awaitHistory(Long requestId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<RequestStatusHistory> history = historyRepository.findAllByRequestIdOrderByOccurredAtAscIdAsc(requestId);
+        while (history.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            history = historyRepository.findAllByRequestIdOrderByOccurredAtAscIdAsc(requestId);
+        }
+        return history;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
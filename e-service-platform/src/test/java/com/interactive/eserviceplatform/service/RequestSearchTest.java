@@ -0,0 +1,107 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.InvalidSearchRequestException;
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.PageResponse;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestSearchTest {
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestSearchIndex searchIndex;
+
+    // Le premier chargement est planifié au démarrage : on le fait ici pour ne pas dépendre de son avancement
+    @BeforeEach
+    void loadIndex() {
+        if (!searchIndex.isReady()) {
+            searchIndex.rebuild();
+        }
+    }
+
+    @Test
+    void matchesWithoutAccentsOrCaseAndRanksTitleFirst() {
+        Long inDescription = create("Renouvellement", "Dossier de Mme ZEPHYRINE", "Paris", DocumentType.CNI);
+        Long inTitle = create("Passeport Zéphyrine", null, "Lyon", DocumentType.PASSEPORT);
+        create("Permis", "Aucun rapport", "Zurich", DocumentType.PERMIS);
+
+        assertThat(ids(requestService.search("zephyrine", null, null, null, 20)))
+                .containsExactly(inTitle, inDescription);
+        // Tous les mots doivent être présents (lieu de naissance compris)
+        assertThat(ids(requestService.search("Zéphyrine LYON", null, null, null, 20))).containsExactly(inTitle);
+        assertThat(ids(requestService.search("zephyrine", null, DocumentType.CNI, null, 20))).containsExactly(inDescription);
+    }
+
+    @Test
+    void followsTransitionsAndSurvivesRebuild() {
+        Long submitted = create("Carte d'identité Wolfgangsee", null, null, DocumentType.CNI);
+        Long draft = create("Carte d'identité Wolfgangsee", null, null, DocumentType.CNI);
+        requestService.submitRequest(submitted);
+
+        assertThat(ids(requestService.search("wolfgangsee", RequestStatus.SUBMITTED, null, null, 20))).containsExactly(submitted);
+        assertThat(ids(requestService.search("wolfgangsee", RequestStatus.DRAFT, null, null, 20))).containsExactly(draft);
+
+        searchIndex.rebuild();
+        assertThat(ids(requestService.search("wolfgangsee", RequestStatus.SUBMITTED, null, null, 20))).containsExactly(submitted);
+    }
+
+    @Test
+    void paginatesRankedResultsWithoutDuplicates() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(create("Quokka " + i, "quokka ".repeat(i + 1), null, null));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String pageToken = null;
+        int pages = 0;
+        do {
+            PageResponse<RequestSummary> page = requestService.search("quokka", null, null, pageToken, 2);
+            seen.addAll(ids(page));
+            pageToken = page.getNextPageToken();
+            pages++;
+        } while (pageToken != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(created);
+        // Plus le mot est fréquent dans la demande, plus elle est pertinente
+        assertThat(seen.get(0)).isEqualTo(created.get(4));
+    }
+
+    @Test
+    void rejectsTextWithoutWords() {
+        assertThatThrownBy(() -> requestService.search(" - ", null, null, null, 20))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    private Long create(String title, String description, String birthPlace, DocumentType documentType) {
+        Request request = new Request();
+        request.setUserId(1L);
+        request.setTitle(title);
+        request.setDescription(description);
+        request.setBirthPlace(birthPlace);
+        request.setDocumentType(documentType);
+        return requestService.createRequest(request).getId();
+    }
+
+    private static List<Long> ids(PageResponse<RequestSummary> page) {
+        return page.getItems().stream().map(RequestSummary::getId).toList();
+    }
+}
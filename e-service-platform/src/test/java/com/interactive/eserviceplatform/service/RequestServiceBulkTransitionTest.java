@@ -0,0 +1,63 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.BulkTransitionResponse;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "requests.bulk.chunk-size=7")
+@ActiveProfiles("test")
+class RequestServiceBulkTransitionTest {
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Test
+    void reportsOutcomePerIdAcrossChunks() {
+        List<Long> submitted = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Long id = requestService.createRequest(newRequest()).getId();
+            requestService.submitRequest(id);
+            submitted.add(id);
+        }
+        Long draft = requestService.createRequest(newRequest()).getId();
+        Long missing = Long.MAX_VALUE;
+
+        List<Long> ids = new ArrayList<>(submitted);
+        ids.add(draft);
+        ids.add(missing);
+        ids.add(submitted.get(0)); // doublon : traité une seule fois
+
+        BulkTransitionResponse response = requestService.bulkTransition(ids, RequestStatus.APPROVED);
+
+        assertThat(response.getApplied()).containsExactlyInAnyOrderElementsOf(submitted);
+        assertThat(response.getWrongState()).containsExactly(draft);
+        assertThat(response.getNotFound()).containsExactly(missing);
+        assertThat(requestRepository.findAllById(submitted))
+                .allSatisfy(request -> assertThat(request.getStatus()).isEqualTo(RequestStatus.APPROVED));
+
+        // Rejouer le même lot ne change plus rien
+        BulkTransitionResponse replay = requestService.bulkTransition(submitted, RequestStatus.APPROVED);
+        assertThat(replay.getApplied()).isEmpty();
+        assertThat(replay.getWrongState()).containsExactlyInAnyOrderElementsOf(submitted);
+    }
+
+    private static Request newRequest() {
+        Request request = new Request();
+        request.setUserId(1L);
+        request.setTitle("Renouvellement");
+        return request;
+    }
+}
@@ -0,0 +1,129 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.exception.InvalidStatusTransitionException;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Plusieurs ADMIN approuvent / rejettent la même demande au même moment :
+ * une seule transition doit s'appliquer, toutes les autres doivent échouer proprement.
+ * Une lecture par id commencée avant une transition ne doit pas remettre l'ancien état en cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RequestService requestService;
+
+    // Espion : délègue au vrai dépôt, sauf là où un test ralentit une lecture
+    @MockitoSpyBean
+    private RequestRepository requestRepository;
+
+    @Test
+    void onlyOneConcurrentTransitionWins() throws Exception {
+        Request draft = new Request();
+        draft.setUserId(1L);
+        draft.setTitle("Renouvellement");
+        Long id = requestService.createRequest(draft).getId();
+        requestService.submitRequest(id);
+
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejectedAsInvalid = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                boolean approve = i % 2 == 0;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        if (approve) {
+                            requestService.approveRequest(id);
+                        } else {
+                            requestService.rejectRequest(id);
+                        }
+                        applied.incrementAndGet();
+                    } catch (InvalidStatusTransitionException e) {
+                        rejectedAsInvalid.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(applied.get()).isEqualTo(1);
+        assertThat(rejectedAsInvalid.get()).isEqualTo(THREADS - 1);
+
+        Request result = requestRepository.findById(id).orElseThrow();
+        assertThat(result.getStatus()).isIn(RequestStatus.APPROVED, RequestStatus.REJECTED);
+        // création (0), soumission (1), une seule décision (2)
+        assertThat(result.getVersion()).isEqualTo(2L);
+    }
+
+    // Le lecteur lit la ligne SUBMITTED, puis attend pendant que la transition valide et vide le cache :
+    // il ne doit pas remettre en cache la ligne qu'il a lue
+    @Test
+    void loadStartedBeforeATransitionIsNotCached() throws Exception {
+        Request draft = new Request();
+        draft.setUserId(1L);
+        draft.setTitle("Lecture concurrente");
+        Long id = requestService.createRequest(draft).getId();
+        requestService.submitRequest(id);
+
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            // Réponse par défaut de l'espion : appel du vrai dépôt
+            Object row = mockingDetails(requestRepository).getMockCreationSettings().getDefaultAnswer().answer(invocation);
+            if (Thread.currentThread().getName().equals("cache-reader")) {
+                loaded.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return row;
+        }).when(requestRepository).findById(id);
+
+        ExecutorService reader = Executors.newSingleThreadExecutor(task -> new Thread(task, "cache-reader"));
+        try {
+            Future<Request> stale = reader.submit(() -> requestService.getRequestById(id).orElseThrow());
+            assertThat(loaded.await(10, TimeUnit.SECONDS)).isTrue();
+            requestService.approveRequest(id);
+            release.countDown();
+            assertThat(stale.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(RequestStatus.SUBMITTED);
+        } finally {
+            reader.shutdownNow();
+        }
+
+        Request current = requestService.getRequestById(id).orElseThrow();
+        assertThat(current.getStatus()).isEqualTo(RequestStatus.APPROVED);
+        assertThat(current.getVersion()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,64 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.payload.response.RequestStatsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestStatsRegistryTest {
+
+    @Autowired
+    private RequestStatsRegistry requestStats;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Test
+    void countersFollowWritesAndMatchTheDatabase() {
+        requestStats.reconcile();
+        RequestStatsResponse before = requestService.getStats();
+
+        Long cni = requestService.createRequest(newRequest(DocumentType.CNI)).getId();
+        Long passeport = requestService.createRequest(newRequest(DocumentType.PASSEPORT)).getId();
+        requestService.createRequest(newRequest(null));
+        requestService.submitRequest(cni);
+        requestService.bulkTransition(List.of(passeport), RequestStatus.SUBMITTED);
+        requestService.approveRequest(cni);
+
+        RequestStatsResponse after = requestService.getStats();
+        assertThat(after.getTotal()).isEqualTo(before.getTotal() + 3);
+        assertThat(delta(before, after, "DRAFT")).isEqualTo(1);
+        assertThat(delta(before, after, "SUBMITTED")).isEqualTo(1);
+        assertThat(delta(before, after, "APPROVED")).isEqualTo(1);
+        assertThat(after.getByDocumentType().get("CNI")).isEqualTo(before.getByDocumentType().get("CNI") + 1);
+
+        // Le recalage sur la base retrouve exactement les compteurs maintenus en mémoire
+        requestStats.reconcile();
+        RequestStatsResponse reconciled = requestService.getStats();
+        assertThat(reconciled.getByStatus()).isEqualTo(after.getByStatus());
+        assertThat(reconciled.getByDocumentType()).isEqualTo(after.getByDocumentType());
+        assertThat(reconciled.getTotal()).isEqualTo(after.getTotal());
+    }
+
+    private static long delta(RequestStatsResponse before, RequestStatsResponse after, String status) {
+        return after.getByStatus().get(status) - before.getByStatus().get(status);
+    }
+
+    private static Request newRequest(DocumentType documentType) {
+        Request request = new Request();
+        request.setUserId(12001L);
+        request.setTitle("Statistiques");
+        request.setDocumentType(documentType);
+        return request;
+    }
+}
@@ -0,0 +1,55 @@
+package com.interactive.eserviceplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interactive.eserviceplatform.model.DocumentType;
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.payload.response.PageResponse;
+import com.interactive.eserviceplatform.payload.response.RequestSummary;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestSummaryPayloadTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void summaryPagesAreSmallerThanFullEntities() throws Exception {
+        long userId = 10001L;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Request request = new Request();
+            request.setUserId(userId);
+            request.setTitle("Renouvellement " + i);
+            request.setDocumentType(DocumentType.CNI);
+            request.setDescription("Perte du document lors d'un déménagement, ".repeat(5));
+            request.setBirthDate(LocalDate.of(1990, 1, 1));
+            request.setBirthPlace("Clermont-Ferrand");
+            requestService.createRequest(request);
+        }
+
+        PageResponse<RequestSummary> page = requestService.getRequestsByUserId(userId, null, PAGE_SIZE);
+        byte[] summaries = objectMapper.writeValueAsBytes(page);
+        byte[] entities = objectMapper.writeValueAsBytes(requestRepository.findAllByUserId(userId));
+
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        assertThat(summaries.length).isLessThan(entities.length);
+    }
+}
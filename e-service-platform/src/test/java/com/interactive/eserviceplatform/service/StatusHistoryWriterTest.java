@@ -0,0 +1,134 @@
+package com.interactive.eserviceplatform.service;
+
+import com.interactive.eserviceplatform.model.Request;
+import com.interactive.eserviceplatform.model.RequestStatus;
+import com.interactive.eserviceplatform.model.RequestStatusHistory;
+import com.interactive.eserviceplatform.repository.RequestRepository;
+import com.interactive.eserviceplatform.repository.RequestStatusHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StatusHistoryWriterTest {
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private RequestStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestStatsRegistry requestStats;
+
+    @Autowired
+    private RequestEventHub requestEvents;
+
+    @Autowired
+    private RequestSearchIndex searchIndex;
+
+    @Test
+    void recordsEveryTransitionOfARequest() throws Exception {
+        Request request = new Request();
+        request.setUserId(1L);
+        request.setTitle("Historique");
+        Long id = requestService.createRequest(request).getId();
+        requestService.submitRequest(id);
+        requestService.approveRequest(id);
+
+        // Écriture différée : on attend le passage du thread d'écriture (au plus 5 s)
+        List<RequestStatusHistory> history = awaitHistory(id, 3);
+
+        assertThat(history).extracting(RequestStatusHistory::getFromStatus)
+                .containsExactly(null, RequestStatus.DRAFT, RequestStatus.SUBMITTED);
+        assertThat(history).extracting(RequestStatusHistory::getToStatus)
+                .containsExactly(RequestStatus.DRAFT, RequestStatus.SUBMITTED, RequestStatus.APPROVED);
+        assertThat(history).allSatisfy(row -> assertThat(row.getActor()).isEqualTo("system"));
+    }
+
+    // Petite file, thread d'écriture bloqué sur son premier lot : les transitions suivantes trouvent la file pleine
+    // et écrivent elles-mêmes dans leur afterCommit ; après l'arrêt, elles écrivent directement. Rien n'est perdu.
+    @Test
+    void fullBufferAndShutdownLoseNothing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StatusHistoryWriter writer = new StatusHistoryWriter(blockingWorker(release), transactionManager,
+                meterRegistry, 4, 2, 10, Duration.ZERO, Duration.ofSeconds(10));
+        writer.start();
+        RequestService service = new RequestService(requestRepository, requestStats, requestEvents, searchIndex,
+                writer, historyRepository, transactionManager, meterRegistry,
+                100, 10_000, 5, 10_000, 10_000, Duration.ofMinutes(10));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Request request = new Request();
+            request.setUserId(22002L);
+            request.setTitle("Contre-pression " + i);
+            ids.add(requestService.createRequest(request).getId());
+        }
+
+        // 4 transactions de 5 demandes
+        service.bulkTransition(ids, RequestStatus.SUBMITTED);
+        assertThat(meterRegistry.get("requests.history.sync-writes").counter().count()).isPositive();
+        release.countDown();
+        writer.stop();
+        assertThat(writer.pending()).isZero();
+
+        // Après l'arrêt : écriture directe dans l'afterCommit
+        service.bulkTransition(ids, RequestStatus.APPROVED);
+
+        for (Long id : ids) {
+            assertThat(historyRepository.findAllByRequestIdOrderByOccurredAtAscIdAsc(id))
+                    .extracting(RequestStatusHistory::getToStatus)
+                    .contains(RequestStatus.SUBMITTED, RequestStatus.APPROVED);
+        }
+    }
+
+    // Dépôt d'historique dont le premier saveAll du thread d'écriture attend le feu vert du test
+    private RequestStatusHistoryRepository blockingWorker(CountDownLatch release) {
+        AtomicBoolean blocked = new AtomicBoolean();
+        return (RequestStatusHistoryRepository) Proxy.newProxyInstance(RequestStatusHistoryRepository.class.getClassLoader(),
+                new Class<?>[] {RequestStatusHistoryRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("saveAll") && Thread.currentThread().getName().equals("status-history-writer")
+                            && blocked.compareAndSet(false, true)) {
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                    try {
+                        return method.invoke(historyRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private List<RequestStatusHistory> awaitHistory(Long id, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<RequestStatusHistory> history = historyRepository.findAllByRequestIdOrderByOccurredAtAscIdAsc(id);
+        while (history.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            history = historyRepository.findAllByRequestIdOrderByOccurredAtAscIdAsc(id);
+        }
+        return history;
+    }
+}
@@ -187,6 +187,50 @@ const apiCall = async (endpoint, method = 'GET', data = null, token) => {
   }
 };
 
+/**
+ * Abonnement au flux SSE des changements de statut (GET /events).
+ * EventSource ne permet pas d'envoyer l'en-tête Authorization : le flux est lu avec fetch.
+ * Reconnexion automatique après 3s si la connexion est coupée. Retourne la fonction de désabonnement.
+ */
+const subscribeToRequestEvents = (token, onEvent) => {
+  const controller = new AbortController();
+
+  const connect = async () => {
+    try {
+      const response = await fetch(`${API_BASE_URL}/events`, {
+        headers: { 'Authorization': `Bearer ${token}`, 'Accept': 'text/event-stream' },
+        signal: controller.signal,
+      });
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true });
+        // Les événements SSE sont séparés par une ligne vide
+        let separator;
+        while ((separator = buffer.indexOf('\n\n')) >= 0) {
+          const block = buffer.slice(0, separator);
+          buffer = buffer.slice(separator + 2);
+          const data = block.split('\n').filter(line => line.startsWith('data:')).map(line => line.slice(5)).join('\n');
+          if (block.includes('event:request-status') && data) {
+            onEvent(JSON.parse(data));
+          }
+        }
+      }
+    } catch (e) {
+      if (controller.signal.aborted) return;
+    }
+    if (!controller.signal.aborted) {
+      setTimeout(connect, 3000);
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
+
 /**
  * Composant pour afficher les messages de feedback (Erreur/Succès/Info).
  */
@@ -250,7 +294,7 @@ const RequestRow = ({ request, onUpdate, isUpdating, token }) => {
       <td className="px-6 py-3 font-medium text-gray-900">{request.id}</td>
       <td className="px-6 py-3 text-gray-700">{request.documentType}</td>
       <td className="px-6 py-3 text-gray-700">{request.title}</td>
-      <td className="px-6 py-3 text-gray-700">{request.birthDate}</td>
+      <td className="px-6 py-3 text-gray-700">{request.createdAt}</td>
       <td className="px-6 py-3 text-gray-700">{request.userId}</td>
       <td className="px-6 py-3 text-sm font-medium whitespace-nowrap space-x-2">
         <AdminActionButton
@@ -285,7 +329,7 @@ const AdminDashboardView = () => {
     setGlobalError(null);
     try {
       const data = await apiCall('/status/SUBMITTED', 'GET', null, jwtToken); // Passe le jeton
-      setRequests(data || []);
+      setRequests(data?.items || []); // Réponse paginée : { items, nextPageToken }
     } catch (err) {
       setGlobalError(err.message);
       if (err.message.includes("401") || err.message.includes("403")) {
@@ -300,6 +344,18 @@ const AdminDashboardView = () => {
     fetchRequests();
   }, [fetchRequests]);
 
+  // Mises à jour poussées par le serveur (SSE) au lieu de recharger la liste périodiquement
+  useEffect(() => {
+    if (!jwtToken) return undefined;
+    return subscribeToRequestEvents(jwtToken, (event) => {
+      if (event.to === 'SUBMITTED') {
+        fetchRequests(); // Nouvelle demande à traiter
+      } else if (event.from === 'SUBMITTED') {
+        setRequests(prev => prev.filter(req => req.id !== event.requestId)); // Traitée (ou expirée) ailleurs
+      }
+    });
+  }, [jwtToken, fetchRequests]);
+
   const handleUpdate = (requestId, type, errorMessage = '') => {
     if (type === 'start') {
       setIsUpdating(requestId);
@@ -347,7 +403,7 @@ const AdminDashboardView = () => {
         <table className="min-w-full divide-y divide-gray-200">
           <thead className="bg-blue-600 text-white">
             <tr>
-              {['ID', 'Type Document', 'Motif', 'Date Naissance', 'ID Utilisateur', 'Actions'].map(header => (
+              {['ID', 'Type Document', 'Motif', 'Créée le', 'ID Utilisateur', 'Actions'].map(header => (
                 <th key={header} className="px-6 py-3 text-left text-xs font-bold uppercase tracking-wider">
                   {header}
                 </th>